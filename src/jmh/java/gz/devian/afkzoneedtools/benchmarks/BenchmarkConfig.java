@@ -0,0 +1,31 @@
+package gz.devian.afkzoneedtools.benchmarks;
+
+import gz.devian.afkzoneedtools.diagnostics.DiagnosticCategory;
+import gz.devian.afkzoneedtools.diagnostics.DiagnosticLevel;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+/**
+ * Plugin config shared by the benchmarks
+ */
+final class BenchmarkConfig {
+
+    private BenchmarkConfig() {
+    }
+
+    /**
+     * Every tick runs the worker tick, effects and diagnostics are off so only the pipeline is measured
+     */
+    static YamlConfiguration create() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("general.debug", false);
+        config.set("general.particle_effects", false);
+        config.set("general.sound_effects", false);
+        config.set("performance.worker_update_interval", 1);
+        config.set("performance.tick_budget.enabled", false);
+        config.set("performance.harvest_queue.capacity", 65536);
+        for (DiagnosticCategory category : DiagnosticCategory.values()) {
+            config.set("diagnostics.levels." + category.getKey(), DiagnosticLevel.OFF.name());
+        }
+        return config;
+    }
+}
@@ -0,0 +1,82 @@
+package gz.devian.afkzoneedtools.benchmarks;
+
+import gz.devian.afkzoneedtools.HeadlessPlugin;
+import gz.devian.afkzoneedtools.managers.EdToolsIntegrationManager;
+import gz.devian.afkzoneedtools.models.AfkWorker;
+import gz.devian.afkzoneedtools.models.AfkZone;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caller-side cost of {@link EdToolsIntegrationManager#mineBlockAsAfkWorker}: session check,
+ * block snapshot lookup, request creation and the harvest queue offer
+ *
+ * The mining calls themselves run on the mining executor against the in-memory EdTools.
+ * The worker tick is never run, so workers are only mined through this entry point.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MineBlockBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    private int workers;
+
+    @Param({"1", "10", "100"})
+    private int zones;
+
+    private HeadlessPlugin harness;
+    private EdToolsIntegrationManager edTools;
+    private AfkWorker[] joined;
+    private Player[] players;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        harness = new HeadlessPlugin(BenchmarkConfig.create());
+        edTools = harness.getPlugin().getEdToolsIntegration();
+
+        AfkZone[] created = new AfkZone[zones];
+        int perZone = (workers + zones - 1) / zones;
+        for (int i = 0; i < zones; i++) {
+            created[i] = harness.createZone("zone" + i, i * 64, 0, 60_000L, perZone);
+        }
+
+        joined = new AfkWorker[workers];
+        players = new Player[workers];
+        for (int i = 0; i < workers; i++) {
+            joined[i] = harness.join("player" + i, created[i % zones]);
+            players[i] = Bukkit.getPlayer(joined[i].getPlayerId());
+        }
+    }
+
+    @Benchmark
+    public void mineBlockAsAfkWorker() {
+        int i = next;
+        next = i + 1 == joined.length ? 0 : i + 1;
+        edTools.mineBlockAsAfkWorker(joined[i], players[i], joined[i].getZone());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        harness.shutdown();
+    }
+}
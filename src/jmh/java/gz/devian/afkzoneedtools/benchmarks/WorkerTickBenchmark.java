@@ -0,0 +1,69 @@
+package gz.devian.afkzoneedtools.benchmarks;
+
+import gz.devian.afkzoneedtools.HeadlessPlugin;
+import gz.devian.afkzoneedtools.models.AfkZone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One server tick of the worker pipeline: completions, timing wheel, harvest preparation and dispatch
+ *
+ * Every worker harvests every tick (50ms interval), so each operation processes all workers
+ * whose previous mining call has completed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorkerTickBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    private int workers;
+
+    @Param({"1", "10", "100"})
+    private int zones;
+
+    private HeadlessPlugin harness;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        harness = new HeadlessPlugin(BenchmarkConfig.create());
+
+        AfkZone[] created = new AfkZone[zones];
+        int perZone = (workers + zones - 1) / zones;
+        for (int i = 0; i < zones; i++) {
+            created[i] = harness.createZone("zone" + i, i * 64, 0, 50L, perZone);
+        }
+        for (int i = 0; i < workers; i++) {
+            harness.join("player" + i, created[i % zones]);
+        }
+
+        // Spawn worker entities and block displays
+        harness.getScheduler().runTicks(20);
+    }
+
+    @Benchmark
+    public int tick() {
+        return harness.tick();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        harness.shutdown();
+    }
+}
@@ -0,0 +1,92 @@
+package gz.devian.afkzoneedtools.benchmarks;
+
+import gz.devian.afkzoneedtools.HeadlessPlugin;
+import gz.devian.afkzoneedtools.managers.ZoneManager;
+import gz.devian.afkzoneedtools.models.AfkZone;
+import org.bukkit.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Zone lookups done on interaction events: {@link AfkZone#containsLocation} and
+ * {@link ZoneManager#getZoneByCenterLocation}
+ *
+ * Probes are a mix of zone centers (hits) and points between zones (misses). Lookups do not
+ * depend on workers, so only the zone count is a parameter here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ZoneLookupBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"10", "100", "1000"})
+    private int zones;
+
+    private HeadlessPlugin harness;
+    private ZoneManager zoneManager;
+    private Location[] probes;
+    private AfkZone[] probeZones;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        harness = new HeadlessPlugin(BenchmarkConfig.create());
+        zoneManager = harness.getPlugin().getZoneManager();
+
+        AfkZone[] zoneArray = new AfkZone[zones];
+        for (int i = 0; i < zones; i++) {
+            zoneArray[i] = harness.createZone("zone" + i, i * 64, 0, 60_000L, 1);
+        }
+
+        probes = new Location[PROBES];
+        probeZones = new AfkZone[PROBES];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < PROBES; i++) {
+            int zone = random.nextInt(zones);
+            int offset = random.nextBoolean() ? 0 : 32;
+            probes[i] = new Location(harness.getWorld(), zone * 64 + offset, 64, 0);
+            probeZones[i] = zoneArray[zone];
+        }
+    }
+
+    private int nextProbe() {
+        int i = next;
+        next = (i + 1) & (PROBES - 1);
+        return i;
+    }
+
+    @Benchmark
+    public boolean containsLocation() {
+        int i = nextProbe();
+        return probeZones[i].containsLocation(probes[i]);
+    }
+
+    @Benchmark
+    public AfkZone getZoneByCenterLocation() {
+        return zoneManager.getZoneByCenterLocation(probes[nextProbe()]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        harness.shutdown();
+    }
+}
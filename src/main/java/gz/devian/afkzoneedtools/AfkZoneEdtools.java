@@ -1,12 +1,18 @@
 package gz.devian.afkzoneedtools;
 
 import gz.devian.afkzoneedtools.commands.AfkZoneCommand;
+import gz.devian.afkzoneedtools.diagnostics.Diagnostics;
 import gz.devian.afkzoneedtools.listeners.AfkZoneListener;
 import gz.devian.afkzoneedtools.listeners.PlayerListener;
+import gz.devian.afkzoneedtools.listeners.ToolTrackingListener;
 import gz.devian.afkzoneedtools.managers.*;
 import gz.devian.afkzoneedtools.placeholders.AfkZonePlaceholderExpansion;
+import gz.devian.afkzoneedtools.scheduling.BukkitTaskScheduler;
+import gz.devian.afkzoneedtools.scheduling.FoliaTaskScheduler;
+import gz.devian.afkzoneedtools.scheduling.TaskScheduler;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.function.Predicate;
 import java.util.logging.Level;
 
 /**
@@ -29,6 +35,10 @@ public class AfkZoneEdtools extends JavaPlugin {
     
     private static AfkZoneEdtools instance;
     
+    // Scheduling backend (Bukkit main thread or Folia regions)
+    private TaskScheduler taskScheduler;
+    private Diagnostics diagnostics;
+    
     // Core Managers
     private ConfigManager configManager;
     private ZoneManager zoneManager;
@@ -41,8 +51,6 @@ public class AfkZoneEdtools extends JavaPlugin {
     
     @Override
     public void onEnable() {
-        instance = this;
-        
         // ASCII Art Banner
         getLogger().info("========================================");
         getLogger().info("    ___  ________   ______");
@@ -59,9 +67,21 @@ public class AfkZoneEdtools extends JavaPlugin {
             return;
         }
         
+        // Select scheduling backend
+        TaskScheduler scheduler;
+        if (FoliaTaskScheduler.isFolia()) {
+            getLogger().info("Folia detected! Using region-threaded scheduling.");
+            scheduler = new FoliaTaskScheduler(this);
+        } else {
+            scheduler = new BukkitTaskScheduler(this);
+        }
+        
         // Initialize managers
         getLogger().info("Initializing managers...");
-        initializeManagers();
+        if (!initializeManagers(scheduler, EdToolsIntegrationManager::initialize, EdLibIntegrationManager::initialize)) {
+            getServer().getPluginManager().disablePlugin(this);
+            return;
+        }
         
         // Register commands
         getLogger().info("Registering commands...");
@@ -82,6 +102,7 @@ public class AfkZoneEdtools extends JavaPlugin {
         // Initialize block displays for all zones
         getLogger().info("Initializing block displays...");
         blockManager.initializeAllZones();
+        blockManager.startAnimationTask();
         
         // Start worker management task
         getLogger().info("Starting worker management...");
@@ -104,6 +125,12 @@ public class AfkZoneEdtools extends JavaPlugin {
             workerManager.shutdown();
         }
         
+        // Wait for in-flight mining calls
+        if (edToolsIntegrationManager != null) {
+            getLogger().info("Stopping mining executor...");
+            edToolsIntegrationManager.shutdown();
+        }
+        
         // Save all zones
         if (zoneManager != null) {
             getLogger().info("Saving AFK zones...");
@@ -116,6 +143,21 @@ public class AfkZoneEdtools extends JavaPlugin {
             blockManager.cleanup();
         }
         
+        // Send queued entity commands (display removals)
+        if (edLibIntegrationManager != null) {
+            edLibIntegrationManager.shutdown();
+        }
+        
+        // Cancel remaining tasks
+        if (taskScheduler != null) {
+            taskScheduler.cancelAll();
+        }
+        
+        // Write out buffered diagnostics
+        if (diagnostics != null) {
+            diagnostics.shutdown();
+        }
+        
         getLogger().info("AfkZoneEdtools disabled successfully!");
     }
     
@@ -136,30 +178,39 @@ public class AfkZoneEdtools extends JavaPlugin {
     
     /**
      * Initialize all managers in proper order
+     * The integrations are bound by the given functions, the headless harness binds in-memory EdTools and EdLib
+     * 
+     * @return false if a manager failed to initialize
      */
-    private void initializeManagers() {
+    boolean initializeManagers(TaskScheduler scheduler, Predicate<EdToolsIntegrationManager> bindEdTools,
+                               Predicate<EdLibIntegrationManager> bindEdLib) {
+        instance = this;
+        taskScheduler = scheduler;
+        
         try {
             // Configuration manager (first)
             configManager = new ConfigManager(this);
             configManager.loadConfigs();
             
+            // Diagnostics (needs config, used by every other manager)
+            diagnostics = new Diagnostics(this);
+            diagnostics.start();
+            
             // Effect manager
             effectManager = new EffectManager(this);
             
             // EdTools integration manager
             edToolsIntegrationManager = new EdToolsIntegrationManager(this);
-            if (!edToolsIntegrationManager.initialize()) {
+            if (!bindEdTools.test(edToolsIntegrationManager)) {
                 getLogger().severe("Failed to initialize EdTools integration!");
-                getServer().getPluginManager().disablePlugin(this);
-                return;
+                return false;
             }
             
             // EdLib integration manager
             edLibIntegrationManager = new EdLibIntegrationManager(this);
-            if (!edLibIntegrationManager.initialize()) {
+            if (!bindEdLib.test(edLibIntegrationManager)) {
                 getLogger().severe("Failed to initialize EdLib integration!");
-                getServer().getPluginManager().disablePlugin(this);
-                return;
+                return false;
             }
             
             // Zone manager
@@ -175,10 +226,11 @@ public class AfkZoneEdtools extends JavaPlugin {
             workerManager = new WorkerManager(this);
             
             getLogger().info("All managers initialized successfully!");
+            return true;
             
         } catch (Exception e) {
             getLogger().log(Level.SEVERE, "Failed to initialize managers!", e);
-            getServer().getPluginManager().disablePlugin(this);
+            return false;
         }
     }
     
@@ -195,6 +247,7 @@ public class AfkZoneEdtools extends JavaPlugin {
     private void registerListeners() {
         getServer().getPluginManager().registerEvents(new PlayerListener(this), this);
         getServer().getPluginManager().registerEvents(new AfkZoneListener(this), this);
+        getServer().getPluginManager().registerEvents(new ToolTrackingListener(this), this);
     }
     
     /**
@@ -220,7 +273,7 @@ public class AfkZoneEdtools extends JavaPlugin {
     private void startAutoSave() {
         int interval = configManager.getAutoSaveInterval() * 60 * 20; // Convert minutes to ticks
         
-        getServer().getScheduler().runTaskTimerAsynchronously(this, () -> {
+        taskScheduler.runAsyncTimer(() -> {
             if (zoneManager != null) {
                 zoneManager.saveZones();
                 if (configManager.isDebugEnabled()) {
@@ -236,6 +289,14 @@ public class AfkZoneEdtools extends JavaPlugin {
         return instance;
     }
     
+    public TaskScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
+    
+    public Diagnostics getDiagnostics() {
+        return diagnostics;
+    }
+    
     public ConfigManager getConfigManager() {
         return configManager;
     }
@@ -1,20 +1,35 @@
 package gz.devian.afkzoneedtools.commands;
 
 import gz.devian.afkzoneedtools.AfkZoneEdtools;
+import gz.devian.afkzoneedtools.diagnostics.Diagnostics;
+import gz.devian.afkzoneedtools.diagnostics.WorkerTrace;
+import gz.devian.afkzoneedtools.managers.ViewerTracker;
+import gz.devian.afkzoneedtools.managers.WorkerEntityPool;
 import gz.devian.afkzoneedtools.models.AfkWorker;
 import gz.devian.afkzoneedtools.models.AfkZone;
+import gz.devian.afkzoneedtools.scheduling.CircuitBreaker;
+import gz.devian.afkzoneedtools.scheduling.EntityCommandQueue;
+import gz.devian.afkzoneedtools.scheduling.HarvestQueue;
+import gz.devian.afkzoneedtools.scheduling.MiningExecutor;
+import gz.devian.afkzoneedtools.scheduling.TickBudgetGovernor;
+import gz.devian.afkzoneedtools.scheduling.TokenBucket;
+import gz.devian.afkzoneedtools.scheduling.WriteRateLimiter;
+import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.stream.Collectors;
 
 /**
  * Main command for AFK zone management
- * Commands: /afkzone [create|delete|list|edit|teleport|reload|join|leave|info|workers]
+ * Commands: /afkzone [create|delete|list|edit|teleport|reload|join|leave|info|workers|stats|trace|breaker|ratelimit]
  */
 public class AfkZoneCommand implements CommandExecutor, TabCompleter {
     
@@ -68,6 +83,18 @@ public class AfkZoneCommand implements CommandExecutor, TabCompleter {
             case "check":
                 return handleCheck(sender, args);
                 
+            case "stats":
+                return handleStats(sender);
+                
+            case "trace":
+                return handleTrace(sender, args);
+                
+            case "breaker":
+                return handleBreaker(sender, args);
+                
+            case "ratelimit":
+                return handleRateLimit(sender);
+                
             default:
                 sendHelp(sender);
                 return true;
@@ -107,9 +134,13 @@ public class AfkZoneCommand implements CommandExecutor, TabCompleter {
         }
         
         plugin.getConfigManager().reloadConfigs();
+        plugin.getDiagnostics().reload();
         plugin.getZoneManager().loadZones();
         plugin.getBlockManager().cleanup();
+        plugin.getBlockManager().getViewers().reload();
         plugin.getBlockManager().initializeAllZones();
+        plugin.getWorkerManager().reloadSettings();
+        plugin.getWorkerManager().getEntityPool().reload();
         
         sender.sendMessage(plugin.getConfigManager().getMessage("config_reloaded"));
         return true;
@@ -392,6 +423,234 @@ public class AfkZoneCommand implements CommandExecutor, TabCompleter {
         return true;
     }
     
+    /**
+     * Show worker pipeline metrics
+     */
+    private boolean handleStats(CommandSender sender) {
+        if (!sender.hasPermission("afkzone.admin")) {
+            sender.sendMessage(plugin.getConfigManager().getMessage("no_permission"));
+            return true;
+        }
+        
+        sender.sendMessage("§6=== AfkZoneEdtools Stats ===");
+        sender.sendMessage("§eActive Workers: §f" + plugin.getWorkerManager().getAllWorkers().size() +
+            " §7(" + plugin.getWorkerManager().getSuspendedWorkerCount() + " suspended, no OmniTool, " +
+            plugin.getWorkerManager().getQuarantinedWorkerCount() + " quarantined)");
+        
+        TickBudgetGovernor governor = plugin.getWorkerManager().getGovernor();
+        sender.sendMessage("§eWorker Tick: §f" + String.format("%.2f", governor.getLastTickMillis()) + "ms" +
+            " (max " + String.format("%.2f", governor.getMaxTickMillis()) + "ms, budget " +
+            (governor.isEnabled() ? String.format("%.2f", governor.getBudgetMillis()) + "ms" : "off") + ")" +
+            " §7MSPT: " + String.format("%.1f", governor.getLastMspt()));
+        sender.sendMessage("§7  Deferred: " + governor.getLastDeferred() + " last tick, " + governor.getTotalDeferred() +
+            " total over " + governor.getDeferredTicks() + " ticks, " + governor.getOverloadedTicks() + " overloaded ticks");
+        
+        HarvestQueue queue = plugin.getEdToolsIntegration().getHarvestQueue();
+        if (queue != null) {
+            sender.sendMessage("§eHarvest Queue: §f" + queue.getDepth() + "/" + queue.getCapacity() +
+                " §7(" + queue.getPolicy() + ")");
+            sender.sendMessage("§7  Accepted: " + queue.getAccepted() + ", Rejected: " + queue.getRejected() +
+                ", Blocked ticks: " + queue.getBlockedTicks());
+        }
+        
+        MiningExecutor executor = plugin.getEdToolsIntegration().getMiningExecutor();
+        if (executor != null) {
+            sender.sendMessage("§eMining Executor: §f" + executor.getInFlight() + "/" + executor.getMaxConcurrent() +
+                " in flight" + (executor.getWaitingSubmitters() > 0 ? " §7(saturated, dispatcher waiting for a permit)" : ""));
+            sender.sendMessage("§7  Completed: " + executor.getCompleted() + ", Failed: " + executor.getFailed() +
+                ", Rejected: " + executor.getRejected());
+        }
+        
+        ViewerTracker viewers = plugin.getBlockManager().getViewers();
+        sender.sendMessage("§eBlock Displays: §f" + viewers.getTrackedCount() + " tracked, " + viewers.getTotalViewers() +
+            " viewers §7(" + viewers.getSpawns() + " spawns, " + viewers.getDespawns() + " despawns)");
+        
+        WorkerEntityPool entityPool = plugin.getWorkerManager().getEntityPool();
+        sender.sendMessage("§eWorker Entity Pool: §f" + entityPool.getIdleCount() + " idle §7(max " + entityPool.getSize() + "/zone, " +
+            entityPool.getHits() + " reused, " + entityPool.getMisses() + " created, " + entityPool.getEvictions() + " evicted)");
+        
+        EntityCommandQueue<?> entityQueue = plugin.getEdLibIntegration().getEntityQueue();
+        if (entityQueue != null) {
+            sender.sendMessage("§eEdLib Queue: §f" + entityQueue.getPendingCount() + "/" + entityQueue.getCapacity() + " pending §7(" +
+                entityQueue.getExecuted() + " executed, " + entityQueue.getCoalesced() + " coalesced, " +
+                entityQueue.getDropped() + " dropped, " + entityQueue.getCancelled() + " cancelled)");
+        }
+        
+        if (plugin.getEdToolsIntegration().isHarvestingPaused()) {
+            sender.sendMessage("§cHarvesting paused: EdTools zones API circuit breaker is open (/afkzone breaker)");
+        }
+        
+        if (plugin.getDiagnostics().getDropped() > 0) {
+            sender.sendMessage("§7Diagnostics dropped: " + plugin.getDiagnostics().getDropped() + " events");
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Show the EdTools API circuit breakers, or force them closed with "reset"
+     */
+    private boolean handleBreaker(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("afkzone.admin")) {
+            sender.sendMessage(plugin.getConfigManager().getMessage("no_permission"));
+            return true;
+        }
+        
+        List<CircuitBreaker> breakers = plugin.getEdToolsIntegration().getCircuitBreakers();
+        if (breakers.isEmpty()) {
+            sender.sendMessage("§cEdTools integration is not initialized.");
+            return true;
+        }
+        
+        if (args.length >= 2 && args[1].equalsIgnoreCase("reset")) {
+            breakers.forEach(CircuitBreaker::reset);
+            sender.sendMessage("§aAll EdTools circuit breakers closed.");
+            return true;
+        }
+        
+        sender.sendMessage("§6=== EdTools Circuit Breakers ===");
+        for (CircuitBreaker breaker : breakers) {
+            String state;
+            if (!breaker.isEnabled()) {
+                state = "§7DISABLED";
+            } else if (breaker.getState() == CircuitBreaker.State.OPEN) {
+                state = "§cOPEN";
+            } else if (breaker.getState() == CircuitBreaker.State.HALF_OPEN) {
+                state = "§6HALF_OPEN";
+            } else {
+                state = "§aCLOSED";
+            }
+            
+            sender.sendMessage("§e" + breaker.getName() + ": " + state + " §7(" + breaker.getInFlight() + " in flight, opened " +
+                breaker.getTimesOpened() + " times)");
+            sender.sendMessage("§7  Calls: " + breaker.getCalls() + ", Failed: " + breaker.getFailures() +
+                ", Slow: " + breaker.getSlowCalls() + ", Rejected: " + breaker.getRejected());
+            sender.sendMessage("§7  Latency: " + String.format("%.2f", breaker.getLastLatencyMillis()) + "ms last, " +
+                String.format("%.2f", breaker.getMaxLatencyMillis()) + "ms max, slow above " +
+                String.format("%.0f", breaker.getSlowCallMillis()) + "ms");
+        }
+        return true;
+    }
+    
+    /**
+     * Show the token buckets in front of EdTools economy writes and the queued writes
+     */
+    private boolean handleRateLimit(CommandSender sender) {
+        if (!sender.hasPermission("afkzone.admin")) {
+            sender.sendMessage(plugin.getConfigManager().getMessage("no_permission"));
+            return true;
+        }
+        
+        WriteRateLimiter limiter = plugin.getEdToolsIntegration().getWriteLimiter();
+        if (limiter == null) {
+            sender.sendMessage("§cEdTools integration is not initialized.");
+            return true;
+        }
+        
+        sender.sendMessage("§6=== EdTools Write Rate Limits ===");
+        if (!limiter.isEnabled()) {
+            sender.sendMessage("§7Rate limiting is disabled, writes go straight to EdTools.");
+            return true;
+        }
+        
+        for (TokenBucket bucket : limiter.getBuckets()) {
+            String pending = bucket.getName().equals("global") ? "" : ", " + limiter.getPending(bucket.getName()) + " queued";
+            sender.sendMessage("§e" + bucket.getName() + ": §f" + String.format("%.0f", bucket.getTokens()) + "/" +
+                String.format("%.0f", bucket.getBurst()) + " tokens §7(" + String.format("%.0f", bucket.getRatePerSecond()) +
+                "/s" + pending + ")");
+            sender.sendMessage("§7  Granted: " + bucket.getGranted() + ", Throttled: " + bucket.getThrottled());
+        }
+        sender.sendMessage("§eQueued writes: §f" + limiter.getPendingCount() + " §7(max " + limiter.getMaxPending() +
+            ", deferred " + limiter.getDeferred() + ", merged " + limiter.getMerged() + ")");
+        return true;
+    }
+    
+    /**
+     * Trace one player's workers for a while and dump the timeline to a file
+     * Running it again for a traced player stops the trace early
+     */
+    private boolean handleTrace(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("afkzone.admin")) {
+            sender.sendMessage(plugin.getConfigManager().getMessage("no_permission"));
+            return true;
+        }
+        
+        if (args.length < 2) {
+            sender.sendMessage("§cUsage: /afkzone trace <player> [seconds]");
+            return true;
+        }
+        
+        Player target = Bukkit.getPlayerExact(args[1]);
+        if (target == null) {
+            sender.sendMessage("§cPlayer not found: " + args[1]);
+            return true;
+        }
+        
+        Diagnostics diagnostics = plugin.getDiagnostics();
+        WorkerTrace running = diagnostics.stopTrace(target.getUniqueId());
+        if (running != null) {
+            dumpTrace(sender, running);
+            return true;
+        }
+        
+        if (!plugin.getWorkerManager().hasWorkers(target.getUniqueId())) {
+            sender.sendMessage("§c" + target.getName() + " has no active workers.");
+            return true;
+        }
+        
+        int seconds = plugin.getConfigManager().getTraceDefaultSeconds();
+        if (args.length >= 3) {
+            try {
+                seconds = Integer.parseInt(args[2]);
+            } catch (NumberFormatException e) {
+                sender.sendMessage("§cInvalid number of seconds: " + args[2]);
+                return true;
+            }
+        }
+        seconds = Math.max(1, Math.min(600, seconds));
+        
+        WorkerTrace trace = diagnostics.startTrace(target.getUniqueId(), target.getName());
+        if (trace == null) {
+            sender.sendMessage("§c" + target.getName() + " is already being traced.");
+            return true;
+        }
+        
+        plugin.getTaskScheduler().runGlobalLater(() -> {
+            if (diagnostics.stopTrace(trace)) {
+                dumpTrace(sender, trace);
+            }
+        }, seconds * 20L);
+        
+        sender.sendMessage("§aTracing " + target.getName() + "'s workers for " + seconds + " seconds. " +
+            "§7Run the command again to stop early.");
+        return true;
+    }
+    
+    /**
+     * Write a finished trace to plugins/AfkZoneEdtools/traces and show its tail in chat
+     */
+    private void dumpTrace(CommandSender sender, WorkerTrace trace) {
+        String fileName = trace.getPlayerName() + "-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date(trace.getStartedAt())) + ".log";
+        File file = new File(new File(plugin.getDataFolder(), "traces"), fileName);
+        
+        plugin.getTaskScheduler().runAsync(() -> {
+            List<String> lines = trace.format();
+            try {
+                trace.writeTo(file.toPath());
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to write worker trace " + file + ": " + e.getMessage());
+                sender.sendMessage("§cFailed to write trace file, see console.");
+                return;
+            }
+            
+            sender.sendMessage("§6=== Trace: " + trace.getPlayerName() + " (" + trace.size() + " entries) ===");
+            for (String line : lines.subList(Math.max(1, lines.size() - 10), lines.size())) {
+                sender.sendMessage("§7" + line);
+            }
+            sender.sendMessage("§eFull timeline: §ftraces/" + fileName);
+        });
+    }
+    
     /**
      * Send help message
      */
@@ -404,13 +663,17 @@ public class AfkZoneCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage("§e/afkzone workers <zone> §7- List workers in a zone");
         sender.sendMessage("§e/afkzone tp <zone> §7- Teleport to a zone");
         sender.sendMessage("§e/afkzone check <zone> §7- Check if you're inside a zone");
+        sender.sendMessage("§e/afkzone stats §7- Show worker pipeline metrics");
+        sender.sendMessage("§e/afkzone trace <player> [seconds] §7- Trace a player's workers to a file");
+        sender.sendMessage("§e/afkzone breaker [reset] §7- Show EdTools API circuit breakers");
+        sender.sendMessage("§e/afkzone ratelimit §7- Show EdTools write rate limits");
         sender.sendMessage("§e/afkzone reload §7- Reload configuration");
     }
     
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
         if (args.length == 1) {
-            return Arrays.asList("list", "join", "leave", "info", "workers", "tp", "check", "reload")
+            return Arrays.asList("list", "join", "leave", "info", "workers", "tp", "check", "stats", "trace", "breaker", "ratelimit", "reload")
                 .stream()
                 .filter(s -> s.startsWith(args[0].toLowerCase()))
                 .collect(Collectors.toList());
@@ -425,6 +688,15 @@ public class AfkZoneCommand implements CommandExecutor, TabCompleter {
                     .filter(id -> id.toLowerCase().startsWith(args[1].toLowerCase()))
                     .collect(Collectors.toList());
             }
+            if (subCommand.equals("breaker")) {
+                return "reset".startsWith(args[1].toLowerCase()) ? List.of("reset") : Collections.emptyList();
+            }
+            if (subCommand.equals("trace")) {
+                return Bukkit.getOnlinePlayers().stream()
+                    .map(Player::getName)
+                    .filter(name -> name.toLowerCase().startsWith(args[1].toLowerCase()))
+                    .collect(Collectors.toList());
+            }
         }
         
         return Collections.emptyList();
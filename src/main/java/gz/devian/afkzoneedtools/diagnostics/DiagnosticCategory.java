@@ -0,0 +1,20 @@
+package gz.devian.afkzoneedtools.diagnostics;
+
+/**
+ * Diagnostic event categories, each with its own level
+ */
+public enum DiagnosticCategory {
+    WORKER,    // Worker lifecycle and per-harvest processing
+    HARVEST,   // Mining calls and harvest batches
+    SESSION,   // EdTools session validation
+    TOOL,      // OmniTool resolution
+    BLOCK,     // Block displays
+    INTERACT;  // Player clicks on zone blocks
+
+    /**
+     * Config key for this category's level
+     */
+    public String getKey() {
+        return name().toLowerCase();
+    }
+}
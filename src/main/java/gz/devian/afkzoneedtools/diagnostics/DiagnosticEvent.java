@@ -0,0 +1,87 @@
+package gz.devian.afkzoneedtools.diagnostics;
+
+import java.util.UUID;
+
+/**
+ * A structured diagnostic event
+ *
+ * The message is kept as a template with up to three arguments and only formatted
+ * by the background writer, so recording an event never builds strings.
+ */
+public final class DiagnosticEvent {
+
+    private final long timestamp;
+    private final String threadName;
+    private final DiagnosticCategory category;
+    private final DiagnosticLevel level;
+    private final UUID workerId; // Null for events not tied to a worker
+    private final String template;
+    private final Object arg0;
+    private final Object arg1;
+    private final Object arg2;
+
+    public DiagnosticEvent(DiagnosticCategory category, DiagnosticLevel level, UUID workerId,
+                           String template, Object arg0, Object arg1, Object arg2) {
+        this.timestamp = System.currentTimeMillis();
+        this.threadName = Thread.currentThread().getName();
+        this.category = category;
+        this.level = level;
+        this.workerId = workerId;
+        this.template = template;
+        this.arg0 = arg0;
+        this.arg1 = arg1;
+        this.arg2 = arg2;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public DiagnosticCategory getCategory() {
+        return category;
+    }
+
+    public DiagnosticLevel getLevel() {
+        return level;
+    }
+
+    public UUID getWorkerId() {
+        return workerId;
+    }
+
+    /**
+     * Substitute the arguments into the template's {} placeholders
+     */
+    public String formatMessage() {
+        Object[] args = {arg0, arg1, arg2};
+        StringBuilder builder = new StringBuilder(template.length() + 32);
+        int argIndex = 0;
+        int start = 0;
+        int placeholder;
+        while ((placeholder = template.indexOf("{}", start)) >= 0) {
+            builder.append(template, start, placeholder);
+            builder.append(argIndex < args.length ? args[argIndex++] : "{}");
+            start = placeholder + 2;
+        }
+        builder.append(template, start, template.length());
+        return builder.toString();
+    }
+
+    /**
+     * Format the event as a single log line
+     */
+    public String format() {
+        StringBuilder builder = new StringBuilder(96);
+        builder.append('[').append(category.name()).append("] ");
+        if (workerId != null) {
+            builder.append("worker=").append(workerId).append(' ');
+        }
+        builder.append("thread=").append(threadName).append(' ');
+        builder.append(formatMessage());
+        return builder.toString();
+    }
+}
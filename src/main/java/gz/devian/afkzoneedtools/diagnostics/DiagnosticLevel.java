@@ -0,0 +1,33 @@
+package gz.devian.afkzoneedtools.diagnostics;
+
+import java.util.logging.Level;
+
+/**
+ * Diagnostic verbosity, ordered from quietest to noisiest
+ */
+public enum DiagnosticLevel {
+    OFF(Level.OFF),
+    WARN(Level.WARNING),
+    INFO(Level.INFO),
+    DEBUG(Level.INFO);
+
+    private final Level logLevel;
+
+    DiagnosticLevel(Level logLevel) {
+        this.logLevel = logLevel;
+    }
+
+    /**
+     * Level used when the event is written to the plugin logger
+     */
+    public Level getLogLevel() {
+        return logLevel;
+    }
+
+    /**
+     * Check if an event at the given level passes this threshold
+     */
+    public boolean allows(DiagnosticLevel level) {
+        return level != OFF && level.ordinal() <= ordinal();
+    }
+}
@@ -0,0 +1,99 @@
+package gz.devian.afkzoneedtools.diagnostics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Lock-free multi-producer, single-consumer ring buffer for diagnostic events
+ *
+ * Producers claim a sequence with one atomic increment and publish into its slot, tagged with the sequence.
+ * When the consumer falls a full lap behind, the oldest events are overwritten and counted as dropped
+ * rather than blocking the thread that logs. The tag tells the consumer whether a slot still holds the
+ * event it expects, a later lap's event (the expected one was lost) or nothing published yet.
+ */
+public class DiagnosticRingBuffer {
+
+    private final AtomicReferenceArray<Slot> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private long head; // Consumer only
+
+    public DiagnosticRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Publish an event, never blocks
+     */
+    public void publish(DiagnosticEvent event) {
+        long sequence = tail.getAndIncrement();
+        int index = (int) (sequence & mask);
+        Slot slot = new Slot(sequence, event);
+        Slot current;
+        do {
+            current = slots.get(index);
+            if (current != null && current.sequence > sequence) {
+                // A producer a lap ahead already took the slot, the consumer counts this one as dropped
+                return;
+            }
+        } while (!slots.compareAndSet(index, current, slot));
+    }
+
+    /**
+     * Hand every published event to the consumer, oldest first (consumer thread only)
+     * Events lost to overwriting are counted as dropped here
+     *
+     * @return the number of events drained
+     */
+    public int drain(Consumer<DiagnosticEvent> consumer) {
+        long published = tail.get();
+
+        // Skip what was overwritten while we were a lap behind
+        if (published - head > slots.length()) {
+            dropped.addAndGet(published - slots.length() - head);
+            head = published - slots.length();
+        }
+
+        int drained = 0;
+        while (head < published) {
+            int index = (int) (head & mask);
+            Slot slot = slots.get(index);
+            if (slot == null || slot.sequence < head) {
+                // Claimed but not published yet, pick it up on the next drain
+                break;
+            }
+            if (slot.sequence == head) {
+                consumer.accept(slot.event);
+                drained++;
+                // Leave it if a producer a lap ahead replaced it meanwhile
+                slots.compareAndSet(index, slot, null);
+            } else {
+                dropped.incrementAndGet();
+            }
+            head++;
+        }
+        return drained;
+    }
+
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private static final class Slot {
+        private final long sequence;
+        private final DiagnosticEvent event;
+
+        private Slot(long sequence, DiagnosticEvent event) {
+            this.sequence = sequence;
+            this.event = event;
+        }
+    }
+}
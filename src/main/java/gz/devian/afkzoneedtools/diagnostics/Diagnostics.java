@@ -0,0 +1,206 @@
+package gz.devian.afkzoneedtools.diagnostics;
+
+import gz.devian.afkzoneedtools.AfkZoneEdtools;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * Asynchronous, sampled diagnostics for the worker hot path
+ *
+ * Events go into a lock-free ring buffer and a background thread writes them to the plugin log.
+ * Every category has its own level and per-worker events are only recorded for a sample of workers.
+ * A disabled category costs one array read: arguments are passed as objects, never concatenated.
+ * Traces ({@link WorkerTrace}) capture a full timeline for single players on request;
+ * untraced workers only pay a volatile read.
+ */
+public class Diagnostics {
+
+    private static final long DRAIN_INTERVAL_NANOS = 100_000_000L;
+
+    private final AfkZoneEdtools plugin;
+    private final Logger logger;
+    private final DiagnosticRingBuffer buffer;
+    private volatile DiagnosticLevel[] levels;
+    private volatile int workerSampleRate;
+    private Thread writer;
+    private volatile boolean running;
+
+    // Active traces by player
+    private final Map<UUID, WorkerTrace> traces = new ConcurrentHashMap<>();
+    private volatile boolean tracing;
+
+    public Diagnostics(AfkZoneEdtools plugin) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+        this.buffer = new DiagnosticRingBuffer(plugin.getConfigManager().getDiagnosticsBufferSize());
+        reload();
+    }
+
+    /**
+     * Re-read category levels and sampling from the config
+     */
+    public void reload() {
+        DiagnosticLevel[] newLevels = new DiagnosticLevel[DiagnosticCategory.values().length];
+        for (DiagnosticCategory category : DiagnosticCategory.values()) {
+            newLevels[category.ordinal()] = plugin.getConfigManager().getDiagnosticLevel(category);
+        }
+        levels = newLevels;
+        workerSampleRate = Math.max(1, plugin.getConfigManager().getDiagnosticsWorkerSampleRate());
+    }
+
+    /**
+     * Start the background writer
+     */
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("AfkZone-Diagnostics").daemon(true).start(this::writeLoop);
+    }
+
+    /**
+     * Check if a category records events at the given level
+     */
+    public boolean isEnabled(DiagnosticCategory category, DiagnosticLevel level) {
+        return levels[category.ordinal()].allows(level);
+    }
+
+    /**
+     * Check if a worker is in the sample (stable, 1 in worker_sample_rate workers)
+     */
+    public boolean isSampled(UUID workerId) {
+        int rate = workerSampleRate;
+        return rate == 1 || Math.floorMod(workerId.hashCode(), rate) == 0;
+    }
+
+    public void log(DiagnosticCategory category, DiagnosticLevel level, String template) {
+        if (isEnabled(category, level)) {
+            buffer.publish(new DiagnosticEvent(category, level, null, template, null, null, null));
+        }
+    }
+
+    public void log(DiagnosticCategory category, DiagnosticLevel level, String template, Object arg0) {
+        if (isEnabled(category, level)) {
+            buffer.publish(new DiagnosticEvent(category, level, null, template, arg0, null, null));
+        }
+    }
+
+    public void log(DiagnosticCategory category, DiagnosticLevel level, String template, Object arg0, Object arg1) {
+        if (isEnabled(category, level)) {
+            buffer.publish(new DiagnosticEvent(category, level, null, template, arg0, arg1, null));
+        }
+    }
+
+    public void log(DiagnosticCategory category, DiagnosticLevel level, String template,
+                    Object arg0, Object arg1, Object arg2) {
+        if (isEnabled(category, level)) {
+            buffer.publish(new DiagnosticEvent(category, level, null, template, arg0, arg1, arg2));
+        }
+    }
+
+    /**
+     * Record a per-worker event, subject to worker sampling
+     */
+    public void logWorker(DiagnosticCategory category, DiagnosticLevel level, UUID workerId, String template,
+                          Object arg0, Object arg1) {
+        if (isEnabled(category, level) && isSampled(workerId)) {
+            buffer.publish(new DiagnosticEvent(category, level, workerId, template, arg0, arg1, null));
+        }
+    }
+
+    /**
+     * Start tracing a player's workers
+     *
+     * @return the new trace, or null if the player is already being traced
+     */
+    public WorkerTrace startTrace(UUID playerId, String playerName) {
+        WorkerTrace trace = new WorkerTrace(playerId, playerName, plugin.getConfigManager().getTraceBufferSize());
+        if (traces.putIfAbsent(playerId, trace) != null) {
+            return null;
+        }
+        tracing = true;
+        return trace;
+    }
+
+    /**
+     * Stop tracing a player
+     *
+     * @return the finished trace, or null if the player was not traced
+     */
+    public WorkerTrace stopTrace(UUID playerId) {
+        WorkerTrace trace = traces.remove(playerId);
+        tracing = !traces.isEmpty();
+        return trace;
+    }
+
+    /**
+     * Stop a specific trace, unless it was already stopped (or replaced by a newer one)
+     */
+    public boolean stopTrace(WorkerTrace trace) {
+        boolean removed = traces.remove(trace.getPlayerId(), trace);
+        tracing = !traces.isEmpty();
+        return removed;
+    }
+
+    /**
+     * Check if any trace is running (cheap guard for trace-only work)
+     */
+    public boolean isTracing() {
+        return tracing;
+    }
+
+    public boolean isTraced(UUID playerId) {
+        return tracing && traces.containsKey(playerId);
+    }
+
+    /**
+     * Add an entry to a player's trace, a no-op unless that player is traced
+     */
+    public void trace(UUID playerId, UUID workerId, String template, Object arg0, Object arg1) {
+        if (!tracing) {
+            return;
+        }
+        WorkerTrace trace = traces.get(playerId);
+        if (trace != null) {
+            trace.record(workerId, template, arg0, arg1);
+        }
+    }
+
+    private void writeLoop() {
+        while (running) {
+            LockSupport.parkNanos(DRAIN_INTERVAL_NANOS);
+            flush();
+        }
+        flush();
+    }
+
+    private void flush() {
+        buffer.drain(event -> logger.log(event.getLevel().getLogLevel(), event.format()));
+    }
+
+    /**
+     * Stop the writer after it wrote everything still buffered
+     */
+    public void shutdown() {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join(1000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        long dropped = buffer.getDropped();
+        if (dropped > 0) {
+            logger.warning("Diagnostics dropped " + dropped + " events (buffer size " + buffer.getCapacity() + ")");
+        }
+    }
+
+    public long getDropped() {
+        return buffer.getDropped();
+    }
+}
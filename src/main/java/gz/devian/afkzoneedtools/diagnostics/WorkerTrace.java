@@ -0,0 +1,101 @@
+package gz.devian.afkzoneedtools.diagnostics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bounded timeline of one player's workers, recorded while a trace is running
+ * When the buffer is full the oldest entries are dropped.
+ */
+public class WorkerTrace {
+
+    private final UUID playerId;
+    private final String playerName;
+    private final int capacity;
+    private final long startedAt;
+    private final long startedNanos;
+    private final ArrayDeque<Entry> entries;
+    private int dropped;
+
+    public WorkerTrace(UUID playerId, String playerName, int capacity) {
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.capacity = Math.max(1, capacity);
+        this.startedAt = System.currentTimeMillis();
+        this.startedNanos = System.nanoTime();
+        this.entries = new ArrayDeque<>(Math.min(this.capacity, 256));
+    }
+
+    /**
+     * Record a timeline entry (any thread)
+     */
+    public void record(UUID workerId, String template, Object arg0, Object arg1) {
+        DiagnosticEvent event = new DiagnosticEvent(DiagnosticCategory.WORKER, DiagnosticLevel.DEBUG,
+            workerId, template, arg0, arg1, null);
+        Entry entry = new Entry(System.nanoTime() - startedNanos, event);
+
+        synchronized (entries) {
+            if (entries.size() >= capacity) {
+                entries.pollFirst();
+                dropped++;
+            }
+            entries.addLast(entry);
+        }
+    }
+
+    /**
+     * Format the timeline, one line per entry
+     */
+    public List<String> format() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Worker trace for " + playerName + " (" + playerId + ") started " +
+            new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(startedAt)));
+
+        synchronized (entries) {
+            if (dropped > 0) {
+                lines.add("(" + dropped + " older entries dropped)");
+            }
+            for (Entry entry : entries) {
+                lines.add(String.format("+%9.3fms ", entry.offsetNanos / 1_000_000.0) + entry.event.format());
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Write the timeline to a file, creating parent directories
+     */
+    public void writeTo(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, format(), StandardCharsets.UTF_8);
+    }
+
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry(long offsetNanos, DiagnosticEvent event) {
+    }
+}
@@ -1,6 +1,9 @@
 package gz.devian.afkzoneedtools.listeners;
 
 import gz.devian.afkzoneedtools.AfkZoneEdtools;
+import gz.devian.afkzoneedtools.diagnostics.DiagnosticCategory;
+import gz.devian.afkzoneedtools.diagnostics.DiagnosticLevel;
+import gz.devian.afkzoneedtools.diagnostics.Diagnostics;
 import gz.devian.afkzoneedtools.models.AfkZone;
 import gz.devian.afkzoneedtools.models.AfkWorker;
 import org.bukkit.ChatColor;
@@ -45,31 +48,29 @@ public class AfkZoneListener implements Listener {
             return;
         }
         
-        plugin.getLogger().info("Player " + player.getName() + " clicked block at " + clickedBlock.getLocation());
+        Diagnostics diagnostics = plugin.getDiagnostics();
         
         // Check if the clicked block is a center block of any AFK zone
         AfkZone zone = plugin.getZoneManager().getZoneByCenterLocation(clickedBlock.getLocation());
-        plugin.getLogger().info("Zone found: " + (zone != null ? zone.getId() : "NULL"));
         
         if (zone == null || !zone.isEnabled()) {
-            plugin.getLogger().info("Zone is null or disabled");
             return;
         }
+        diagnostics.log(DiagnosticCategory.INTERACT, DiagnosticLevel.DEBUG, "{} clicked center block of zone {}", player.getName(), zone.getId());
         
         // Check permissions
         if (!player.hasPermission("afkzone.click")) {
-            plugin.getLogger().info("Player " + player.getName() + " lacks afkzone.click permission");
+            diagnostics.log(DiagnosticCategory.INTERACT, DiagnosticLevel.DEBUG, "{} lacks afkzone.click permission", player.getName());
             player.sendMessage(ChatColor.RED + "You don't have permission to use AFK zones!");
             return;
         }
         
         // Check if player has the required tool
         ItemStack tool = player.getInventory().getItemInMainHand();
-        plugin.getLogger().info("Player tool: " + (tool != null ? tool.getType().name() : "NULL"));
-        plugin.getLogger().info("Zone allowed tools: " + zone.getAllowedTools());
         
         if (!isAllowedTool(tool, zone)) {
-            plugin.getLogger().info("Tool not allowed for this zone");
+            diagnostics.log(DiagnosticCategory.INTERACT, DiagnosticLevel.DEBUG, "Tool {} not allowed in zone {} (allowed: {})",
+                tool != null ? tool.getType() : null, zone.getId(), zone.getAllowedTools());
             player.sendMessage(ChatColor.RED + "You need a " + zone.getAllowedTools().get(0) + " to activate this AFK zone!");
             return;
         }
@@ -77,7 +78,7 @@ public class AfkZoneListener implements Listener {
         // Check if player is already in an AFK worker
         AfkWorker existingWorker = plugin.getWorkerManager().getWorkerByPlayer(player);
         if (existingWorker != null) {
-            plugin.getLogger().info("Deactivating existing worker for " + player.getName());
+            diagnostics.log(DiagnosticCategory.INTERACT, DiagnosticLevel.DEBUG, "Deactivating existing worker for {}", player.getName());
             // Deactivate existing worker (but keep EdTools session)
             plugin.getWorkerManager().removeWorker(existingWorker.getWorkerId());
             player.sendMessage(ChatColor.YELLOW + "AFK zone deactivated!");
@@ -85,14 +86,13 @@ public class AfkZoneListener implements Listener {
             return;
         }
         
-        plugin.getLogger().info("Creating new worker for " + player.getName());
         // Activate auto-AFK
         AfkWorker worker = plugin.getWorkerManager().createWorker(player, zone);
         if (worker != null) {
-            plugin.getLogger().info("Worker created successfully for " + player.getName());
+            diagnostics.log(DiagnosticCategory.INTERACT, DiagnosticLevel.DEBUG, "Worker created for {}", player.getName());
             player.sendMessage(ChatColor.GREEN + "AFK zone activated! You will now auto-mine " + zone.getBlockMaterial().name().toLowerCase().replace("_", " ") + ".");
         } else {
-            plugin.getLogger().warning("Failed to create worker for " + player.getName());
+            diagnostics.log(DiagnosticCategory.INTERACT, DiagnosticLevel.WARN, "Failed to create worker for {}", player.getName());
             player.sendMessage(ChatColor.RED + "Failed to activate AFK zone! Zone may be full.");
         }
         
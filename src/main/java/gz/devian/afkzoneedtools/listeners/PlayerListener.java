@@ -1,11 +1,17 @@
 package gz.devian.afkzoneedtools.listeners;
 
 import gz.devian.afkzoneedtools.AfkZoneEdtools;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
 
 /**
  * Handles player events for AFK zones
@@ -25,6 +31,9 @@ public class PlayerListener implements Listener {
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
         
+        // Send nearby block displays once the client is ready for entities
+        plugin.getTaskScheduler().runForEntity(player, () -> plugin.getBlockManager().getViewers().updatePlayer(player));
+        
         // Initialize player data if needed
         if (plugin.getConfigManager().isDebugEnabled()) {
             plugin.getLogger().info("Player " + player.getName() + " joined - AFK workers: " + 
@@ -41,9 +50,51 @@ public class PlayerListener implements Listener {
         
         // Remove all workers for player
         plugin.getWorkerManager().removePlayerWorkers(player.getUniqueId());
+        plugin.getEdToolsIntegration().invalidateSession(player.getUniqueId());
+        plugin.getEdToolsIntegration().invalidateBlockSnapshot(player.getUniqueId());
+        plugin.getBlockManager().getViewers().removePlayer(player.getUniqueId());
         
         if (plugin.getConfigManager().isDebugEnabled()) {
             plugin.getLogger().info("Removed all AFK workers for " + player.getName());
         }
     }
+    
+    /**
+     * Update visible block displays when the player enters another chunk
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        if (to == null || (from.getBlockX() >> 4 == to.getBlockX() >> 4 && from.getBlockZ() >> 4 == to.getBlockZ() >> 4)) {
+            return;
+        }
+        plugin.getBlockManager().getViewers().updatePlayer(event.getPlayer(), to);
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        if (event.getTo() != null) {
+            plugin.getBlockManager().getViewers().updatePlayer(event.getPlayer(), event.getTo());
+        }
+    }
+    
+    /**
+     * The client drops its entities on world change and respawn, send the nearby displays again
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        Player player = event.getPlayer();
+        plugin.getBlockManager().getViewers().removePlayer(player.getUniqueId());
+        plugin.getBlockManager().getViewers().updatePlayer(player);
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+        Player player = event.getPlayer();
+        plugin.getTaskScheduler().runForEntity(player, () -> {
+            plugin.getBlockManager().getViewers().removePlayer(player.getUniqueId());
+            plugin.getBlockManager().getViewers().updatePlayer(player);
+        });
+    }
 }
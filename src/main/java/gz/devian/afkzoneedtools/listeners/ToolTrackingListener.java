@@ -0,0 +1,95 @@
+package gz.devian.afkzoneedtools.listeners;
+
+import gz.devian.afkzoneedtools.AfkZoneEdtools;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps each worker's OmniTool id up to date from inventory events
+ *
+ * Events only mark the player for a refresh; the inventory is resolved once on the next tick
+ * (after the change applied), however many events fired. Players without workers are ignored.
+ */
+public class ToolTrackingListener implements Listener {
+
+    private final AfkZoneEdtools plugin;
+    private final Set<UUID> pendingRefresh = ConcurrentHashMap.newKeySet();
+
+    public ToolTrackingListener(AfkZoneEdtools plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemHeld(PlayerItemHeldEvent event) {
+        scheduleRefresh(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent event) {
+        if (event.getWhoClicked() instanceof Player player) {
+            scheduleRefresh(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryDrag(InventoryDragEvent event) {
+        if (event.getWhoClicked() instanceof Player player) {
+            scheduleRefresh(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSwapHandItems(PlayerSwapHandItemsEvent event) {
+        scheduleRefresh(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemPickup(EntityPickupItemEvent event) {
+        if (event.getEntity() instanceof Player player) {
+            scheduleRefresh(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemDrop(PlayerDropItemEvent event) {
+        scheduleRefresh(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerDeath(PlayerDeathEvent event) {
+        scheduleRefresh(event.getEntity());
+    }
+
+    /**
+     * Refresh the player's tool on the next tick, once per burst of events
+     */
+    private void scheduleRefresh(Player player) {
+        if (!plugin.getWorkerManager().hasWorkers(player.getUniqueId())) {
+            return;
+        }
+
+        if (!pendingRefresh.add(player.getUniqueId())) {
+            return;
+        }
+
+        plugin.getTaskScheduler().runForEntity(player, () -> {
+            pendingRefresh.remove(player.getUniqueId());
+            if (player.isOnline()) {
+                plugin.getWorkerManager().refreshPlayerTool(player);
+            }
+        });
+    }
+}
@@ -2,25 +2,41 @@ package gz.devian.afkzoneedtools.managers;
 
 import es.edwardbelt.edlib.iapi.entity.EdEntity;
 import gz.devian.afkzoneedtools.AfkZoneEdtools;
+import gz.devian.afkzoneedtools.diagnostics.DiagnosticCategory;
+import gz.devian.afkzoneedtools.diagnostics.DiagnosticLevel;
 import gz.devian.afkzoneedtools.models.AfkZone;
-import org.bukkit.Bukkit;
+import gz.devian.afkzoneedtools.models.AnimationProfile;
+import gz.devian.afkzoneedtools.models.BlockAnimation;
+import gz.devian.afkzoneedtools.scheduling.EntityCommandQueue;
+import gz.devian.afkzoneedtools.scheduling.TaskScheduler;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.joml.Matrix4f;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Manages block display entities for AFK zones using EdLib
+ * Displays are only sent to nearby players, see {@link ViewerTracker}
  */
 public class BlockManager {
     
     private final AfkZoneEdtools plugin;
     private final Map<String, EdEntity> blockDisplays = new ConcurrentHashMap<>();
+    // Queue handle per zone, set as soon as the creation is queued so it can be cancelled; guarded by this
+    private final Map<String, EntityCommandQueue.Handle<EdEntity>> displayHandles = new ConcurrentHashMap<>();
+    private final ViewerTracker viewers;
+    
+    // One mining animation per zone with a display, advanced by a single timer
+    private final Map<String, BlockAnimation> animations = new ConcurrentHashMap<>();
+    private TaskScheduler.TaskHandle animationTask;
+    private long animationTick;
     
     public BlockManager(AfkZoneEdtools plugin) {
         this.plugin = plugin;
+        this.viewers = new ViewerTracker(plugin);
     }
     
     /**
@@ -45,94 +61,95 @@ public class BlockManager {
         
         Location location = zone.getCenterLocation().clone().add(0, 1, 0); // Slightly above center
         Material material = zone.getBlockMaterial();
-        double scale = zone.getBlockScale();
+        Matrix4f transformation = zone.getAnimationProfile().getIdle();
         boolean glow = zone.isBlockGlow();
         String glowColor = zone.getGlowColor();
         
-        plugin.getLogger().info("Creating block display for zone: " + zone.getId());
-        plugin.getLogger().info("Location: " + location.toString());
-        plugin.getLogger().info("Material: " + material.toString());
-        plugin.getLogger().info("Scale: " + scale);
+        plugin.getDiagnostics().log(DiagnosticCategory.BLOCK, DiagnosticLevel.DEBUG,
+            "Creating {} block display for zone {} at {}", material, zone.getId(), location);
+        
+        if (displayHandles.containsKey(zone.getId())) {
+            removeBlockDisplay(zone);
+        }
         
-        plugin.getEdLibIntegration().createBlockDisplay(location, material, scale, glow, glowColor, blockDisplay -> {
-            blockDisplays.put(zone.getId(), blockDisplay);
-            zone.setBlockDisplayEntity(blockDisplay);
+        AtomicReference<EntityCommandQueue.Handle<EdEntity>> created = new AtomicReference<>();
+        EntityCommandQueue.Handle<EdEntity> handle = plugin.getEdLibIntegration().createBlockDisplay(location, material, transformation, glow, glowColor, blockDisplay -> {
+            synchronized (this) {
+                // Removed or replaced while being created: the queued removal deletes it, don't register it
+                if (displayHandles.get(zone.getId()) != created.get()) {
+                    return;
+                }
+                blockDisplays.put(zone.getId(), blockDisplay);
+                zone.setBlockDisplayEntity(blockDisplay);
+                viewers.track(zone.getId(), blockDisplay, location);
+                animations.put(zone.getId(), new BlockAnimation(zone));
+            }
             
-            plugin.getLogger().info("Successfully created block display for zone: " + zone.getId());
-            plugin.getLogger().info("Block display entity: " + (blockDisplay != null ? "Created" : "NULL"));
+            plugin.getDiagnostics().log(DiagnosticCategory.BLOCK, DiagnosticLevel.DEBUG,
+                "Created block display for zone {}: {}", zone.getId(), blockDisplay != null ? "Created" : "NULL");
         });
+        
+        synchronized (this) {
+            created.set(handle);
+            displayHandles.put(zone.getId(), handle);
+        }
     }
     
     /**
-     * Update block display transformation (for mining animation)
+     * Start the timer advancing every zone's mining animation
+     */
+    public void startAnimationTask() {
+        if (animationTask != null) {
+            animationTask.cancel();
+        }
+        animationTask = plugin.getTaskScheduler().runGlobalTimer(this::tickAnimations, 1L, 1L);
+    }
+    
+    /**
+     * Play the mining animation for a zone
+     * Merged into the zone's running animation if there is one, the timer sends the transformations
      */
     public void playMiningAnimation(AfkZone zone) {
-        EdEntity blockDisplay = blockDisplays.get(zone.getId());
-        if (blockDisplay == null) return;
-        
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                // Shrink animation
-                Matrix4f shrinkTransform = new Matrix4f()
-                    .identity()
-                    .scale(0.1f);
-                
-                plugin.getEdLibIntegration().updateBlockDisplayTransformation(
-                    blockDisplay, 
-                    shrinkTransform, 
-                    10, // 10 ticks duration
-                    0   // No delay
-                );
-                
-                // Schedule regeneration
-                Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                    regenerateBlock(zone);
-                }, zone.getRegenerationTime() / 50); // Convert ms to ticks
-                
-            } catch (Exception e) {
-                plugin.getLogger().severe("Error playing mining animation: " + e.getMessage());
-            }
-        });
+        BlockAnimation animation = animations.get(zone.getId());
+        if (animation != null) {
+            animation.request();
+        }
     }
     
     /**
-     * Regenerate block display after mining
+     * Advance all zone animations by one tick
      */
-    public void regenerateBlock(AfkZone zone) {
-        EdEntity blockDisplay = blockDisplays.get(zone.getId());
-        if (blockDisplay == null) return;
-        
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                // Grow animation
-                Matrix4f growTransform = new Matrix4f()
-                    .identity()
-                    .scale((float) zone.getBlockScale());
-                
+    private void tickAnimations() {
+        long tick = ++animationTick;
+        for (BlockAnimation animation : animations.values()) {
+            if (animation.isIdle()) {
+                continue;
+            }
+            
+            AnimationProfile.Keyframe keyframe = animation.advance(tick);
+            if (keyframe == null) {
+                continue;
+            }
+            
+            EdEntity blockDisplay = blockDisplays.get(animation.getZone().getId());
+            if (blockDisplay != null) {
                 plugin.getEdLibIntegration().updateBlockDisplayTransformation(
-                    blockDisplay,
-                    growTransform,
-                    20, // 20 ticks duration (1 second)
-                    0   // No delay
-                );
-                
-                if (plugin.getConfigManager().isDebugEnabled()) {
-                    plugin.getLogger().info("Regenerated block for zone: " + zone.getId());
-                }
-                
-            } catch (Exception e) {
-                plugin.getLogger().severe("Error regenerating block: " + e.getMessage());
+                    blockDisplay, keyframe.getTransformation(), keyframe.getTicks(), 0);
             }
-        });
+        }
     }
     
     /**
      * Remove block display for a zone
      */
-    public void removeBlockDisplay(AfkZone zone) {
-        EdEntity blockDisplay = blockDisplays.remove(zone.getId());
-        if (blockDisplay != null) {
-            plugin.getEdLibIntegration().removeEntity(blockDisplay);
+    public synchronized void removeBlockDisplay(AfkZone zone) {
+        EntityCommandQueue.Handle<EdEntity> handle = displayHandles.remove(zone.getId());
+        blockDisplays.remove(zone.getId());
+        viewers.untrack(zone.getId());
+        animations.remove(zone.getId());
+        // Through the handle, so a display still waiting to be created is cancelled too
+        if (handle != null) {
+            plugin.getEdLibIntegration().removeEntity(handle);
         }
     }
     
@@ -143,17 +160,35 @@ public class BlockManager {
         return blockDisplays.get(zoneId);
     }
     
+    /**
+     * Get the mining animation of a zone (null if the zone has no display)
+     */
+    public BlockAnimation getAnimation(String zoneId) {
+        return animations.get(zoneId);
+    }
+    
+    /**
+     * Get the tracker deciding which players see each display
+     */
+    public ViewerTracker getViewers() {
+        return viewers;
+    }
+    
     /**
      * Cleanup all block displays
      */
-    public void cleanup() {
-        for (Map.Entry<String, EdEntity> entry : blockDisplays.entrySet()) {
+    public synchronized void cleanup() {
+        animations.clear();
+        
+        for (Map.Entry<String, EntityCommandQueue.Handle<EdEntity>> entry : displayHandles.entrySet()) {
             try {
                 plugin.getEdLibIntegration().removeEntity(entry.getValue());
             } catch (Exception e) {
                 plugin.getLogger().warning("Error removing block display: " + e.getMessage());
             }
         }
+        displayHandles.clear();
         blockDisplays.clear();
+        viewers.clear();
     }
 }
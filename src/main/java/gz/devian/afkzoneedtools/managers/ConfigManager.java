@@ -1,6 +1,9 @@
 package gz.devian.afkzoneedtools.managers;
 
 import gz.devian.afkzoneedtools.AfkZoneEdtools;
+import gz.devian.afkzoneedtools.diagnostics.DiagnosticCategory;
+import gz.devian.afkzoneedtools.diagnostics.DiagnosticLevel;
+import gz.devian.afkzoneedtools.scheduling.HarvestQueue;
 import org.bukkit.ChatColor;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -145,10 +148,203 @@ public class ConfigManager {
         return config.getInt("performance.block_regeneration_delay", 60);
     }
     
+    public int getDiagnosticsBufferSize() {
+        return config.getInt("diagnostics.buffer_size", 8192);
+    }
+    
+    public int getDiagnosticsWorkerSampleRate() {
+        return config.getInt("diagnostics.worker_sample_rate", 1);
+    }
+    
+    public int getTraceBufferSize() {
+        return config.getInt("diagnostics.trace_buffer_size", 2000);
+    }
+    
+    public int getTraceDefaultSeconds() {
+        return config.getInt("diagnostics.trace_default_seconds", 30);
+    }
+    
+    /**
+     * Get a diagnostics category level (defaults to DEBUG with general.debug, WARN otherwise)
+     */
+    public DiagnosticLevel getDiagnosticLevel(DiagnosticCategory category) {
+        DiagnosticLevel fallback = isDebugEnabled() ? DiagnosticLevel.DEBUG : DiagnosticLevel.WARN;
+        String level = config.getString("diagnostics.levels." + category.getKey(), fallback.name());
+        try {
+            return DiagnosticLevel.valueOf(level.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Invalid diagnostics level for " + category.getKey() + ": " + level + ", using " + fallback);
+            return fallback;
+        }
+    }
+    
     public int getWorkerUpdateInterval() {
         return config.getInt("performance.worker_update_interval", 10);
     }
     
+    public int getSessionRevalidateInterval() {
+        return config.getInt("performance.session_revalidate_interval", 30);
+    }
+    
+    public int getBackoffMaxMultiplier() {
+        return config.getInt("performance.failure_backoff.max_multiplier", 32);
+    }
+    
+    public double getBackoffJitter() {
+        return config.getDouble("performance.failure_backoff.jitter", 0.2);
+    }
+    
+    public int getQuarantineAfterFailures() {
+        return config.getInt("performance.failure_backoff.quarantine_after", 8);
+    }
+    
+    public boolean isCircuitBreakerEnabled() {
+        return config.getBoolean("performance.circuit_breaker.enabled", true);
+    }
+    
+    /**
+     * Latency above which a call to the given EdTools API counts as failed
+     */
+    public long getBreakerSlowCallMillis(String api, long defaultMillis) {
+        return config.getLong("performance.circuit_breaker." + api + ".slow_call_millis", defaultMillis);
+    }
+    
+    public int getBreakerFailureThreshold(String api) {
+        return config.getInt("performance.circuit_breaker." + api + ".failure_threshold",
+            config.getInt("performance.circuit_breaker.failure_threshold", 5));
+    }
+    
+    public long getBreakerOpenSeconds(String api) {
+        return config.getLong("performance.circuit_breaker." + api + ".open_seconds",
+            config.getLong("performance.circuit_breaker.open_seconds", 30));
+    }
+    
+    public long getBreakerStallSeconds() {
+        return config.getLong("performance.circuit_breaker.stall_seconds", 10);
+    }
+    
+    public boolean isWriteRateLimitEnabled() {
+        return config.getBoolean("performance.rate_limit.enabled", true);
+    }
+    
+    /**
+     * Writes per second allowed by a rate limit bucket ("global" or an EdTools API)
+     */
+    public double getWriteRatePerSecond(String bucket, double defaultRate) {
+        return config.getDouble("performance.rate_limit." + bucket + ".per_second", defaultRate);
+    }
+    
+    /**
+     * Writes a rate limit bucket lets through at once (defaults to two seconds worth)
+     */
+    public double getWriteRateBurst(String bucket, double defaultRate) {
+        return config.getDouble("performance.rate_limit." + bucket + ".burst", getWriteRatePerSecond(bucket, defaultRate) * 2);
+    }
+    
+    /**
+     * Distance in blocks within which players are sent a zone's block display
+     */
+    public double getDisplayViewRadius() {
+        return config.getDouble("performance.display_view_radius", 64.0);
+    }
+    
+    /**
+     * Max entities with pending EdLib commands, further updates are dropped until the queue drains
+     */
+    public int getEntityQueueCapacity() {
+        return config.getInt("performance.entity_queue.capacity", 4096);
+    }
+    
+    public int getEntityQueueShutdownTimeout() {
+        return config.getInt("performance.entity_queue.shutdown_timeout", 5);
+    }
+    
+    /**
+     * Max idle worker entities kept per zone (0 removes entities when their worker stops)
+     */
+    public int getWorkerPoolSize() {
+        return config.getInt("performance.worker_pool.size", 4);
+    }
+    
+    public int getWorkerPoolPrewarm() {
+        return config.getInt("performance.worker_pool.prewarm", 0);
+    }
+    
+    /**
+     * Seconds an idle worker entity is kept before it is removed
+     */
+    public int getWorkerPoolIdleTimeout() {
+        return config.getInt("performance.worker_pool.idle_timeout", 300);
+    }
+    
+    public int getTimingWheelSize() {
+        return config.getInt("performance.timing_wheel_size", 512);
+    }
+    
+    public boolean isPhaseSpreadEnabled() {
+        return config.getBoolean("performance.phase_spread", false);
+    }
+    
+    public boolean isTickBudgetEnabled() {
+        return config.getBoolean("performance.tick_budget.enabled", true);
+    }
+    
+    public double getTickBudgetMillis() {
+        return config.getDouble("performance.tick_budget.max_millis", 5.0);
+    }
+    
+    public double getOverloadedTickBudgetMillis() {
+        return config.getDouble("performance.tick_budget.overloaded_max_millis", 1.5);
+    }
+    
+    public double getTickBudgetMsptThreshold() {
+        return config.getDouble("performance.tick_budget.mspt_threshold", 45.0);
+    }
+    
+    public int getTickBudgetMinWorkers() {
+        return config.getInt("performance.tick_budget.min_workers_per_tick", 1);
+    }
+    
+    public boolean isMiningVirtualThreads() {
+        return config.getBoolean("performance.mining_executor.virtual_threads", true);
+    }
+    
+    public int getMiningMaxConcurrentCalls() {
+        return config.getInt("performance.mining_executor.max_concurrent_calls", 8);
+    }
+    
+    public int getMiningShutdownTimeout() {
+        return config.getInt("performance.mining_executor.shutdown_timeout", 5);
+    }
+    
+    public WorkerManager.CatchUpMode getHarvestCatchUpMode() {
+        String mode = config.getString("performance.harvest_catch_up", "NONE");
+        try {
+            return WorkerManager.CatchUpMode.valueOf(mode.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Invalid harvest catch-up mode: " + mode + ", using NONE");
+            return WorkerManager.CatchUpMode.NONE;
+        }
+    }
+    
+    public int getHarvestQueueCapacity() {
+        return config.getInt("performance.harvest_queue.capacity", 2048);
+    }
+    
+    public HarvestQueue.OverflowPolicy getHarvestQueueOverflowPolicy() {
+        String policy = config.getString("performance.harvest_queue.overflow_policy", "DROP");
+        // COALESCE was removed, a worker never has two harvests queued so it behaved like DROP
+        if (policy.equalsIgnoreCase("COALESCE")) {
+            return HarvestQueue.OverflowPolicy.DROP;
+        }
+        try {
+            return HarvestQueue.OverflowPolicy.valueOf(policy.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Invalid harvest queue overflow policy: " + policy + ", using DROP");
+            return HarvestQueue.OverflowPolicy.DROP;
+        }
+    }
+    
     // EdTools Integration Settings
     
     public boolean isCurrencyRewardsEnabled() {
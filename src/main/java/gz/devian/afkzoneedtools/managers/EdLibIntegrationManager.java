@@ -4,21 +4,31 @@ import es.edwardbelt.edlib.iapi.EdLibAPI;
 import es.edwardbelt.edlib.iapi.entity.EdEntity;
 import es.edwardbelt.edlib.iapi.EdColor;
 import gz.devian.afkzoneedtools.AfkZoneEdtools;
-import org.bukkit.Bukkit;
+import gz.devian.afkzoneedtools.diagnostics.DiagnosticCategory;
+import gz.devian.afkzoneedtools.diagnostics.DiagnosticLevel;
+import gz.devian.afkzoneedtools.scheduling.EntityCommandQueue;
+import gz.devian.afkzoneedtools.scheduling.TaskScheduler;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.joml.Matrix4f;
 
+import java.util.function.Consumer;
+
 /**
  * Manages integration with EdLib API for entity and block display systems
+ * Entity creation, updates and removal go through an {@link EntityCommandQueue}
  */
 public class EdLibIntegrationManager {
     
     private final AfkZoneEdtools plugin;
     private EdLibAPI edLibAPI;
     
+    // Entity operations, coalesced per entity and run by one worker once per tick
+    private EntityCommandQueue<EdEntity> entityQueue;
+    private TaskScheduler.TaskHandle entityQueueTask;
+    
     public EdLibIntegrationManager(AfkZoneEdtools plugin) {
         this.plugin = plugin;
     }
@@ -30,14 +40,13 @@ public class EdLibIntegrationManager {
         try {
             plugin.getLogger().info("Initializing EdLib integration...");
             
-            edLibAPI = EdLibAPI.getInstance();
-            if (edLibAPI == null) {
+            EdLibAPI api = EdLibAPI.getInstance();
+            if (api == null) {
                 plugin.getLogger().severe("Failed to get EdLibAPI instance!");
                 return false;
             }
             
-            plugin.getLogger().info("EdLib integration initialized successfully!");
-            return true;
+            return initialize(api);
             
         } catch (Exception e) {
             plugin.getLogger().severe("Failed to initialize EdLib integration: " + e.getMessage());
@@ -47,75 +56,65 @@ public class EdLibIntegrationManager {
     }
     
     /**
-     * Create a block display entity asynchronously
+     * Bind the given EdLib API
+     * Also used to run the plugin against an in-memory EdLib for load testing
      */
-    public void createBlockDisplay(Location location, Material material, double scale, boolean glow, String glowColor, BlockDisplayCallback callback) {
-        plugin.getLogger().info("EdLibIntegration: Starting block display creation...");
-        plugin.getLogger().info("EdLibIntegration: Location: " + location);
-        plugin.getLogger().info("EdLibIntegration: Material: " + material);
-        plugin.getLogger().info("EdLibIntegration: Scale: " + scale);
-        plugin.getLogger().info("EdLibIntegration: EdLibAPI instance: " + (edLibAPI != null ? "Available" : "NULL"));
+    public boolean initialize(EdLibAPI api) {
+        edLibAPI = api;
         
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+        entityQueue = new EntityCommandQueue<>("EdLib", plugin.getLogger(), plugin.getConfigManager().getEntityQueueCapacity(), EdEntity::remove);
+        entityQueueTask = plugin.getTaskScheduler().runGlobalTimer(entityQueue::drain, 1L, 1L);
+        
+        plugin.getLogger().info("EdLib integration initialized successfully!");
+        return true;
+    }
+    
+    /**
+     * Queue the creation of a block display entity
+     * The transformation is typically a zone's shared idle matrix and is not modified
+     */
+    public EntityCommandQueue.Handle<EdEntity> createBlockDisplay(Location location, Material material, Matrix4f transformation, boolean glow, String glowColor, BlockDisplayCallback callback) {
+        return entityQueue.create(() -> {
             try {
-                plugin.getLogger().info("EdLibIntegration: Creating transformation matrix...");
-                Matrix4f transformation = new Matrix4f()
-                    .identity()
-                    .scale((float) scale);
-                
-                plugin.getLogger().info("EdLibIntegration: Creating block display entity...");
                 EdEntity blockDisplay = edLibAPI.createBlockDisplay(location, transformation, material);
                 
                 if (blockDisplay == null) {
                     plugin.getLogger().severe("EdLibIntegration: Block display entity is NULL!");
-                    return;
+                    return null;
                 }
                 
-                plugin.getLogger().info("EdLibIntegration: Block display entity created successfully");
-                
                 if (glow && glowColor != null) {
                     try {
                         EdColor color = EdColor.valueOf(glowColor.toUpperCase());
                         blockDisplay.setGlowing(color);
-                        plugin.getLogger().info("EdLibIntegration: Applied glow color: " + glowColor);
                     } catch (IllegalArgumentException e) {
                         plugin.getLogger().warning("Invalid glow color: " + glowColor);
                     }
                 }
                 
-                plugin.getLogger().info("EdLibIntegration: Spawning block display...");
-                blockDisplay.spawn();
-                
-                // Also spawn for all online players to ensure visibility
-                // Only spawn for players who are actually connected (not null connection)
-                for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
-                    if (onlinePlayer != null && onlinePlayer.isOnline()) {
-                        try {
-                            blockDisplay.spawnForPlayer(onlinePlayer);
-                        } catch (Exception e) {
-                            plugin.getLogger().warning("Failed to spawn block display for player " + onlinePlayer.getName() + ": " + e.getMessage());
-                        }
-                    }
-                }
-                
-                plugin.getLogger().info("EdLibIntegration: Block display spawned successfully for all players");
+                // Not spawn(): it sends the display to every online player, which is what the viewer
+                // tracker avoids. Players are sent it with spawnForPlayer once they are in range
+                plugin.getDiagnostics().log(DiagnosticCategory.BLOCK, DiagnosticLevel.DEBUG,
+                    "Created {} block display at {} (glow {})", material, location, glow ? glowColor : "off");
                 
                 if (callback != null) {
                     callback.onCreated(blockDisplay);
                 }
+                return blockDisplay;
                 
             } catch (Exception e) {
                 plugin.getLogger().severe("Error creating block display: " + e.getMessage());
                 e.printStackTrace();
+                return null;
             }
-        });
+        }, null);
     }
     
     /**
-     * Create an entity asynchronously
+     * Queue the creation of an entity
      */
-    public void createEntity(EntityType type, Location location, EntityCallback callback) {
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+    public EntityCommandQueue.Handle<EdEntity> createEntity(EntityType type, Location location, EntityCallback callback) {
+        return entityQueue.create(() -> {
             try {
                 EdEntity entity = edLibAPI.createEntity(type, location);
                 entity.spawn();
@@ -123,19 +122,21 @@ public class EdLibIntegrationManager {
                 if (callback != null) {
                     callback.onCreated(entity);
                 }
+                return entity;
                 
             } catch (Exception e) {
                 plugin.getLogger().severe("Error creating entity: " + e.getMessage());
                 e.printStackTrace();
+                return null;
             }
-        });
+        }, null);
     }
     
     /**
-     * Create an interaction entity asynchronously
+     * Queue the creation of an interaction entity
      */
-    public void createInteractionEntity(Location location, float width, float height, EntityCallback callback) {
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+    public EntityCommandQueue.Handle<EdEntity> createInteractionEntity(Location location, float width, float height, EntityCallback callback) {
+        return entityQueue.create(() -> {
             try {
                 EdEntity entity = edLibAPI.createInteractionEntity(location, width, height);
                 entity.spawn();
@@ -143,19 +144,21 @@ public class EdLibIntegrationManager {
                 if (callback != null) {
                     callback.onCreated(entity);
                 }
+                return entity;
                 
             } catch (Exception e) {
                 plugin.getLogger().severe("Error creating interaction entity: " + e.getMessage());
                 e.printStackTrace();
+                return null;
             }
-        });
+        }, null);
     }
     
     /**
-     * Create a packet-based entity for a specific player
+     * Queue the creation of a packet-based entity for a specific player
      */
-    public void createEntityForPlayer(EntityType type, Location location, Player player, EntityCallback callback) {
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+    public EntityCommandQueue.Handle<EdEntity> createEntityForPlayer(EntityType type, Location location, Player player, EntityCallback callback) {
+        return entityQueue.create(() -> {
             try {
                 EdEntity entity = edLibAPI.createEntity(type, location);
                 entity.spawnForPlayer(player);
@@ -163,12 +166,41 @@ public class EdLibIntegrationManager {
                 if (callback != null) {
                     callback.onCreated(entity);
                 }
+                return entity;
                 
             } catch (Exception e) {
                 plugin.getLogger().severe("Error creating entity for player: " + e.getMessage());
                 e.printStackTrace();
+                return null;
             }
-        });
+        }, null);
+    }
+    
+    /**
+     * Show an entity to one player
+     * Only for players who are actually connected (not null connection)
+     */
+    public void spawnForPlayer(EdEntity entity, Player player) {
+        if (!player.isOnline()) return;
+        
+        try {
+            entity.spawnForPlayer(player);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to spawn entity for player " + player.getName() + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Hide an entity from one player
+     */
+    public void despawnForPlayer(EdEntity entity, Player player) {
+        if (!player.isOnline()) return;
+        
+        try {
+            entity.despawnForPlayer(player);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to despawn entity for player " + player.getName() + ": " + e.getMessage());
+        }
     }
     
     /**
@@ -182,30 +214,58 @@ public class EdLibIntegrationManager {
     
     /**
      * Update block display transformation with interpolation
+     * Replaces a transformation still queued for the entity, the client does the interpolation
+     * Dropped when the entity queue is full, the next animation frame sends a fresh one
      */
     public void updateBlockDisplayTransformation(EdEntity entity, Matrix4f transformation, int duration, int delay) {
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                entity.setTransformationWithInterpolation(transformation, duration, delay);
-            } catch (Exception e) {
-                plugin.getLogger().severe("Error updating block display: " + e.getMessage());
-            }
-        });
+        if (entity == null) return;
+        
+        entityQueue.offerUpdate(entity, "transformation", e -> e.setTransformationWithInterpolation(transformation, duration, delay));
+    }
+    
+    /**
+     * Queue an update of an entity that may not exist yet
+     * Replaces a pending update of the same kind, so only the latest one is sent
+     */
+    public void updateEntity(EntityCommandQueue.Handle<EdEntity> handle, String kind, Consumer<EdEntity> command) {
+        if (handle == null) return;
+        
+        entityQueue.update(handle, kind, command);
     }
     
     /**
-     * Remove entity asynchronously
+     * Queue the removal of an entity
      */
     public void removeEntity(EdEntity entity) {
         if (entity == null) return;
         
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                entity.remove();
-            } catch (Exception e) {
-                plugin.getLogger().severe("Error removing entity: " + e.getMessage());
-            }
-        });
+        entityQueue.remove(entity);
+    }
+    
+    /**
+     * Queue the removal of an entity, cancelling its creation if that has not run yet
+     */
+    public void removeEntity(EntityCommandQueue.Handle<?> handle) {
+        if (handle == null) return;
+        
+        entityQueue.remove(handle);
+    }
+    
+    /**
+     * Run the queued entity commands and stop the entity worker
+     */
+    public void shutdown() {
+        if (entityQueueTask != null) {
+            entityQueueTask.cancel();
+            entityQueueTask = null;
+        }
+        if (entityQueue != null) {
+            entityQueue.shutdown(plugin.getConfigManager().getEntityQueueShutdownTimeout());
+        }
+    }
+    
+    public EntityCommandQueue<EdEntity> getEntityQueue() {
+        return entityQueue;
     }
     
     public EdLibAPI getEdLibAPI() {
@@ -11,16 +11,32 @@ import es.edwardbelt.edgens.iapi.EdToolsLevelingAPI;
 import es.edwardbelt.edgens.iapi.EdToolsBackpackAPI;
 import es.edwardbelt.edgens.iapi.APIPair;
 import gz.devian.afkzoneedtools.AfkZoneEdtools;
+import gz.devian.afkzoneedtools.diagnostics.DiagnosticCategory;
+import gz.devian.afkzoneedtools.diagnostics.DiagnosticLevel;
+import gz.devian.afkzoneedtools.diagnostics.Diagnostics;
 import gz.devian.afkzoneedtools.models.AfkZone;
 import gz.devian.afkzoneedtools.models.AfkWorker;
+import gz.devian.afkzoneedtools.models.HarvestBatch;
+import gz.devian.afkzoneedtools.models.HarvestRequest;
+import gz.devian.afkzoneedtools.models.LoadedBlockSnapshot;
+import gz.devian.afkzoneedtools.models.SessionState;
+import gz.devian.afkzoneedtools.scheduling.CircuitBreaker;
+import gz.devian.afkzoneedtools.scheduling.HarvestQueue;
+import gz.devian.afkzoneedtools.scheduling.MiningExecutor;
+import gz.devian.afkzoneedtools.scheduling.TaskScheduler;
+import gz.devian.afkzoneedtools.scheduling.TokenBucket;
+import gz.devian.afkzoneedtools.scheduling.WriteRateLimiter;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.util.Vector;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages integration with EdTools APIs for complete normal zone behavior
@@ -32,6 +48,13 @@ import java.util.UUID;
  * - Selling mechanics for mined items
  * - Lucky block mechanics
  * - Leveling system integration
+ * 
+ * Calls into the zones, currency, boosters, sell and leveling APIs go through a circuit breaker each,
+ * so a failing or stalled EdTools API falls back to defaults (and pauses harvesting for zones)
+ * instead of piling up blocked calls.
+ * 
+ * Currency, sell and leveling writes are rate limited per API and globally; writes over the
+ * limit are merged per player and key and sent as the limit allows, never dropped.
  */
 public class EdToolsIntegrationManager {
     
@@ -48,6 +71,27 @@ public class EdToolsIntegrationManager {
     private EdToolsLevelingAPI levelingAPI;
     private EdToolsBackpackAPI backpackAPI;
     
+    // Plugin-owned executor for blocking mining calls, fed by a bounded harvest queue
+    private MiningExecutor miningExecutor;
+    private HarvestQueue harvestQueue;
+    
+    // Circuit breakers, one per guarded EdTools API
+    private CircuitBreaker zonesBreaker;
+    private CircuitBreaker currencyBreaker;
+    private CircuitBreaker boostersBreaker;
+    private CircuitBreaker sellBreaker;
+    private CircuitBreaker levelingBreaker;
+    
+    // Token buckets in front of the economy writes, drained every tick
+    private WriteRateLimiter writeLimiter;
+    private TaskScheduler.TaskHandle writeLimiterTask;
+    
+    // Per-player session state, filled on join and revalidated on interval or mining miss
+    private final Map<UUID, SessionState> sessionCache = new ConcurrentHashMap<>();
+    
+    // Per-player loaded block positions, refreshed on join and on mining miss
+    private final Map<UUID, LoadedBlockSnapshot> blockSnapshots = new ConcurrentHashMap<>();
+    
     public EdToolsIntegrationManager(AfkZoneEdtools plugin) {
         this.plugin = plugin;
     }
@@ -68,22 +112,7 @@ public class EdToolsIntegrationManager {
                 return false;
             }
             
-            // Cast to the actual type
-            edToolsAPI = (EdToolsAPI) edToolsAPIInstance;
-            
-            // Get all sub-APIs
-            zonesAPI = edToolsAPI.getZonesAPI();
-            currencyAPI = edToolsAPI.getCurrencyAPI();
-            enchantAPI = edToolsAPI.getEnchantAPI();
-            boostersAPI = edToolsAPI.getBoostersAPI();
-            omniToolAPI = edToolsAPI.getOmniToolAPI();
-            sellAPI = edToolsAPI.getSellAPI();
-            // levelingAPI = edToolsAPI.getLevelingAPI(); // Method not available in current API version
-            backpackAPI = edToolsAPI.getBackpackAPI();
-            
-            plugin.getLogger().info("EdTools integration initialized successfully!");
-            return true;
-            
+            return initialize((EdToolsAPI) edToolsAPIInstance);
         } catch (ClassNotFoundException e) {
             plugin.getLogger().severe("EdTools API classes not found! Make sure EdTools is properly installed.");
             return false;
@@ -94,6 +123,78 @@ public class EdToolsIntegrationManager {
         }
     }
     
+    /**
+     * Bind the given EdTools API and start the mining pipeline
+     * Also used to run the plugin against an in-memory EdTools for load testing
+     */
+    public boolean initialize(EdToolsAPI api) {
+        edToolsAPI = api;
+        
+        // Get all sub-APIs
+        zonesAPI = edToolsAPI.getZonesAPI();
+        currencyAPI = edToolsAPI.getCurrencyAPI();
+        enchantAPI = edToolsAPI.getEnchantAPI();
+        boostersAPI = edToolsAPI.getBoostersAPI();
+        omniToolAPI = edToolsAPI.getOmniToolAPI();
+        sellAPI = edToolsAPI.getSellAPI();
+        // levelingAPI = edToolsAPI.getLevelingAPI(); // Method not available in current API version
+        backpackAPI = edToolsAPI.getBackpackAPI();
+        
+        // Mining calls do a full harvest, the other APIs are plain lookups
+        zonesBreaker = createBreaker("zones", 250L);
+        currencyBreaker = createBreaker("currency", 50L);
+        boostersBreaker = createBreaker("boosters", 50L);
+        sellBreaker = createBreaker("sell", 100L);
+        levelingBreaker = createBreaker("leveling", 50L);
+        
+        ConfigManager config = plugin.getConfigManager();
+        writeLimiter = new WriteRateLimiter(
+            plugin.getLogger(),
+            config.isWriteRateLimitEnabled(),
+            createBucket("global", 2000),
+            List.of(createBucket("currency", 1000), createBucket("sell", 1000), createBucket("leveling", 500))
+        );
+        if (writeLimiter.isEnabled()) {
+            writeLimiterTask = plugin.getTaskScheduler().runGlobalTimer(writeLimiter::drain, 1L, 1L);
+        }
+        
+        miningExecutor = new MiningExecutor(
+            plugin.getLogger(),
+            plugin.getConfigManager().isMiningVirtualThreads(),
+            plugin.getConfigManager().getMiningMaxConcurrentCalls()
+        );
+        harvestQueue = new HarvestQueue(
+            plugin.getLogger(),
+            miningExecutor,
+            this::runHarvestBatch,
+            request -> plugin.getWorkerManager().completeHarvest(request),
+            plugin.getConfigManager().getHarvestQueueCapacity(),
+            plugin.getConfigManager().getHarvestQueueOverflowPolicy()
+        );
+        harvestQueue.start();
+        
+        plugin.getLogger().info("EdTools integration initialized successfully!");
+        return true;
+    }
+    
+    private CircuitBreaker createBreaker(String api, long defaultSlowCallMillis) {
+        ConfigManager config = plugin.getConfigManager();
+        return new CircuitBreaker(
+            api,
+            plugin.getLogger(),
+            config.isCircuitBreakerEnabled(),
+            config.getBreakerSlowCallMillis(api, defaultSlowCallMillis),
+            config.getBreakerFailureThreshold(api),
+            config.getBreakerOpenSeconds(api),
+            config.getBreakerStallSeconds()
+        );
+    }
+    
+    private TokenBucket createBucket(String name, double defaultRate) {
+        ConfigManager config = plugin.getConfigManager();
+        return new TokenBucket(name, config.getWriteRatePerSecond(name, defaultRate), config.getWriteRateBurst(name, defaultRate));
+    }
+    
     /**
      * CRITICAL: Mine block as player with FULL EdTools integration
      * This is the core method that makes AFK zones function exactly like normal zones
@@ -103,137 +204,328 @@ public class EdToolsIntegrationManager {
      * @param zone The AFK zone
      */
     public void mineBlockAsAfkWorker(AfkWorker worker, Player player, AfkZone zone) {
+        HarvestRequest request = prepareHarvest(worker, player, zone);
+        if (request == null) {
+            return;
+        }
+        
+        HarvestBatch batch = new HarvestBatch(zone);
+        batch.add(request);
+        mineBlocksAsAfkWorkers(batch);
+    }
+    
+    /**
+     * Validate the session and resolve tool and block position for a harvest (main thread)
+     * 
+     * @return the prepared request, or null if the worker cannot harvest right now
+     */
+    public HarvestRequest prepareHarvest(AfkWorker worker, Player player, AfkZone zone) {
         if (zonesAPI == null) {
             plugin.getLogger().warning("EdToolsIntegration: zonesAPI is null!");
-            return;
+            return null;
         }
         
-        // Verify player is in a valid session
-        if (!zonesAPI.isPlayerInSession(player)) {
-            plugin.getLogger().warning("EdToolsIntegration: Player " + player.getName() + " is not in a valid zone session!");
-            return;
+        // Verify player is in a valid session (cached, EdTools is only asked when the state is stale)
+        Diagnostics diagnostics = plugin.getDiagnostics();
+        SessionState session = getSessionState(player);
+        if (!session.isInSession()) {
+            diagnostics.logWorker(DiagnosticCategory.SESSION, DiagnosticLevel.WARN, worker.getWorkerId(),
+                "Player {} is not in a valid zone session", player.getName(), null);
+            diagnostics.trace(player.getUniqueId(), worker.getWorkerId(), "Session check: not in a session", null, null);
+            return null;
         }
         
-        String playerZoneId = zonesAPI.getPlayerZoneId(player);
-        plugin.getLogger().info("EdToolsIntegration: Player " + player.getName() + " is in zone: " + playerZoneId);
+        String playerZoneId = session.getZoneId();
+        diagnostics.trace(player.getUniqueId(), worker.getWorkerId(), "Session check: in {} session of zone {}",
+            session.isGlobalSession() ? "global" : "alone", playerZoneId);
         
         // Verify the player is actually in the correct zone
         if (playerZoneId == null || !playerZoneId.equals(zone.getId())) {
-            plugin.getLogger().warning("EdToolsIntegration: Player " + player.getName() + " is in zone '" + playerZoneId + "' but expected '" + zone.getId() + "'");
-            plugin.getLogger().warning("EdToolsIntegration: This may cause mineBlockAsPlayer to return NULL");
+            diagnostics.logWorker(DiagnosticCategory.SESSION, DiagnosticLevel.WARN, worker.getWorkerId(),
+                "Player is in zone '{}' but expected '{}', mineBlockAsPlayer may return NULL", playerZoneId, zone.getId());
         }
         
-        // Get player's actual OmniTool
+        // Player's actual OmniTool, kept up to date by the tool tracking listener
         String toolId = worker.getPlayerToolId();
         if (toolId == null) {
-            ItemStack tool = omniToolAPI.getOmniToolFromPlayer(player);
-            if (tool != null) {
-                toolId = omniToolAPI.getOmniToolId(tool);
-                worker.setPlayerToolId(toolId);
-                plugin.getLogger().info("EdToolsIntegration: Found OmniTool for " + player.getName() + ": " + toolId);
-            } else {
-                plugin.getLogger().warning("EdToolsIntegration: No OmniTool found in hand for " + player.getName());
-                // Try to get any OmniTool from inventory
-                for (ItemStack item : player.getInventory().getContents()) {
-                    if (item != null && omniToolAPI.isItemOmniTool(item)) {
-                        toolId = omniToolAPI.getOmniToolId(item);
-                        worker.setPlayerToolId(toolId);
-                        plugin.getLogger().info("EdToolsIntegration: Found OmniTool in inventory for " + player.getName() + ": " + toolId);
-                        break;
-                    }
-                }
-            }
+            diagnostics.logWorker(DiagnosticCategory.TOOL, DiagnosticLevel.WARN, worker.getWorkerId(),
+                "Player {} has no valid OmniTool", player.getName(), null);
+            diagnostics.trace(player.getUniqueId(), worker.getWorkerId(), "Tool check: no OmniTool", null, null);
+            return null;
         }
+        diagnostics.trace(player.getUniqueId(), worker.getWorkerId(), "Tool check: {}", toolId, null);
         
-        if (toolId == null) {
-            plugin.getLogger().warning("Player " + player.getName() + " has no valid OmniTool!");
-            return;
+        // Block position - use the actual block positions from EdTools
+        // Each worker walks the player's loaded block snapshot with its own cursor
+        Vector blockPosition = null;
+        LoadedBlockSnapshot snapshot = getBlockSnapshot(player);
+        if (!snapshot.isEmpty()) {
+            blockPosition = snapshot.getPosition(worker.nextBlockIndex(snapshot.size()));
         }
+        diagnostics.trace(player.getUniqueId(), worker.getWorkerId(), "Target block {}",
+            blockPosition != null ? blockPosition : "zone center", null);
         
-        // Block position - use the actual block position from EdTools
-        // Get the first loaded block position from EdTools
-        Vector blockPosition = null;
-        try {
-            Map<Vector, Material> loadedBlocks = zonesAPI.getPlayersLoadedBlocks(player);
-            if (!loadedBlocks.isEmpty()) {
-                blockPosition = loadedBlocks.keySet().iterator().next();
-                plugin.getLogger().info("EdToolsIntegration: Found block position: " + blockPosition);
+        return new HarvestRequest(worker, player, toolId, blockPosition);
+    }
+    
+    /**
+     * CRITICAL: Queue every prepared harvest of a zone to be mined in one job
+     * Zone data (center, flags) is resolved once for the whole batch
+     * 
+     * @return the number of harvests accepted by the harvest queue
+     */
+    public int mineBlocksAsAfkWorkers(HarvestBatch batch) {
+        if (zonesAPI == null || harvestQueue == null) {
+            for (HarvestRequest request : batch.getRequests()) {
+                plugin.getWorkerManager().completeHarvest(request);
             }
-        } catch (Exception e) {
-            plugin.getLogger().warning("EdToolsIntegration: Could not get block position: " + e.getMessage());
+            return 0;
         }
         
-        // Fallback to zone center if no block position found
-        if (blockPosition == null) {
-            blockPosition = zone.getCenterLocation().toVector();
-            plugin.getLogger().info("EdToolsIntegration: Using zone center as fallback: " + blockPosition);
+        return harvestQueue.offer(batch);
+    }
+    
+    /**
+     * Reserve a harvest queue slot for a worker about to be processed (BLOCK overflow policy)
+     * 
+     * @return false if the queue is full and the worker has to wait
+     */
+    public boolean reserveHarvest() {
+        return harvestQueue == null || harvestQueue.reserve();
+    }
+    
+    /**
+     * Give back reserved slots of workers that did not produce a harvest
+     */
+    public void cancelHarvestReservations(int count) {
+        if (harvestQueue != null) {
+            harvestQueue.cancelReservations(count);
         }
+    }
+    
+    /**
+     * Check if harvesting is paused because the zones API circuit breaker is open
+     * Stays paused while the breaker's probe call is in flight (half-open)
+     */
+    public boolean isHarvestingPaused() {
+        return zonesBreaker != null && zonesBreaker.isOpen();
+    }
+    
+    /**
+     * Execute a harvest batch on the current (async) thread
+     * Requests rejected by the zones circuit breaker complete without being attempted
+     */
+    private void runHarvestBatch(HarvestBatch batch) {
+        AfkZone zone = batch.getZone();
         
-        final Vector position = blockPosition;
-        final String finalToolId = toolId;
+        // Shared zone data, resolved once per batch
+        // IMPORTANT: According to EdTools documentation, affectEnchants should be false by default
+        Vector centerPosition = zone.getCenterLocation().toVector();
+        boolean affectSell = zone.isAffectSell();
+        boolean affectBlockCurrencies = zone.isAffectBlockCurrencies();
+        boolean affectLuckyBlocks = zone.isAffectLuckyBlocks();
+        Diagnostics diagnostics = plugin.getDiagnostics();
         
-        // CRITICAL: Mine block with ALL EdTools flags enabled for complete integration
-        plugin.getLogger().info("EdToolsIntegration: Starting mineBlockAsPlayer for " + player.getName());
-        plugin.getLogger().info("EdToolsIntegration: Position: " + position);
-        plugin.getLogger().info("EdToolsIntegration: Tool ID: " + finalToolId);
-        plugin.getLogger().info("EdToolsIntegration: Flags - Enchants: false (fixed per EdTools docs)" + 
-            ", Sell: " + zone.isAffectSell() + ", Currencies: " + zone.isAffectBlockCurrencies() + 
-            ", LuckyBlocks: " + zone.isAffectLuckyBlocks());
+        long startTime = System.nanoTime();
         
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+        for (HarvestRequest request : batch.getRequests()) {
+            Player player = request.getPlayer();
+            Vector position = request.getPosition() != null ? request.getPosition() : centerPosition;
+            
             try {
-                plugin.getLogger().info("EdToolsIntegration: Calling mineBlockAsPlayer...");
-                plugin.getLogger().info("EdToolsIntegration: Player location: " + player.getLocation());
-                plugin.getLogger().info("EdToolsIntegration: Mining position: " + position);
-                plugin.getLogger().info("EdToolsIntegration: Player zone ID: " + zonesAPI.getPlayerZoneId(player));
-                plugin.getLogger().info("EdToolsIntegration: Player session type: " + zonesAPI.getPlayerZoneSessionType(player));
+                diagnostics.logWorker(DiagnosticCategory.HARVEST, DiagnosticLevel.DEBUG, request.getWorker().getWorkerId(),
+                    "Mining at {} for {}", position, player.getName());
                 
-                // Check if player is in the correct zone
-                String expectedZoneId = zone.getId();
-                String actualZoneId = zonesAPI.getPlayerZoneId(player);
-                plugin.getLogger().info("EdToolsIntegration: Expected zone: " + expectedZoneId + ", Actual zone: " + actualZoneId);
+                boolean traced = diagnostics.isTraced(player.getUniqueId());
+                long callStart = traced ? System.nanoTime() : 0L;
                 
-                // Check player's loaded blocks
-                try {
-                    Map<Vector, Material> loadedBlocks = zonesAPI.getPlayersLoadedBlocks(player);
-                    plugin.getLogger().info("EdToolsIntegration: Player loaded blocks count: " + loadedBlocks.size());
-                    if (!loadedBlocks.isEmpty()) {
-                        plugin.getLogger().info("EdToolsIntegration: Sample loaded block: " + loadedBlocks.entrySet().iterator().next());
-                    }
-                } catch (Exception e) {
-                    plugin.getLogger().warning("EdToolsIntegration: Could not get loaded blocks: " + e.getMessage());
+                if (!zonesBreaker.tryAcquire()) {
+                    diagnostics.trace(player.getUniqueId(), request.getWorker().getWorkerId(),
+                        "Skipped, zones circuit breaker is {}", zonesBreaker.getState(), null);
+                    continue;
                 }
                 
-                // IMPORTANT: According to EdTools documentation, affectEnchants should be false by default
-                // and the method should be run asynchronously (which we already do)
-                APIPair<Material, String> result = zonesAPI.mineBlockAsPlayer(
-                    player,
-                    position,
-                    finalToolId,
-                    false,                          // affectEnchants - should be false by default per EdTools docs
-                    zone.isAffectSell(),            // Trigger selling mechanics
-                    zone.isAffectBlockCurrencies(), // Give currency rewards
-                    zone.isAffectLuckyBlocks()      // Trigger lucky block mechanics
-                );
+                request.markAttempted();
+                long mineStart = System.nanoTime();
+                APIPair<Material, String> result;
+                try {
+                    result = zonesAPI.mineBlockAsPlayer(
+                        player,
+                        position,
+                        request.getToolId(),
+                        false,                  // affectEnchants - should be false by default per EdTools docs
+                        affectSell,             // Trigger selling mechanics
+                        affectBlockCurrencies,  // Give currency rewards
+                        affectLuckyBlocks       // Trigger lucky block mechanics
+                    );
+                } catch (RuntimeException e) {
+                    zonesBreaker.release(System.nanoTime() - mineStart, true);
+                    throw e;
+                }
+                zonesBreaker.release(System.nanoTime() - mineStart, false);
                 
-                plugin.getLogger().info("EdToolsIntegration: mineBlockAsPlayer result: " + (result != null ? "SUCCESS" : "NULL"));
+                if (traced) {
+                    diagnostics.trace(player.getUniqueId(), request.getWorker().getWorkerId(),
+                        "mineBlockAsPlayer took {}ms -> {}", (System.nanoTime() - callStart) / 1_000_000.0,
+                        result != null ? result.getValue0() + " / " + result.getValue1() : "NULL");
+                }
                 
                 if (result != null) {
-                    worker.incrementHarvestCount();
-                    
-                    plugin.getLogger().info("Worker " + worker.getWorkerId() + 
-                        " mined block for " + player.getName() + 
-                        " (Material: " + result.getValue0() + 
-                        ", Sold: " + result.getValue1() + ")");
+                    request.complete(result.getValue0(), result.getValue1());
+                    request.getWorker().incrementHarvestCount();
                 } else {
-                    plugin.getLogger().warning("mineBlockAsPlayer returned NULL for " + player.getName());
+                    // A miss usually means the session or its blocks changed, ask EdTools again on the next harvest
+                    invalidateSession(player.getUniqueId());
+                    invalidateBlockSnapshot(player.getUniqueId());
                 }
                 
             } catch (Exception e) {
-                plugin.getLogger().severe("Error mining block as AFK worker: " + e.getMessage());
-                e.printStackTrace();
+                diagnostics.log(DiagnosticCategory.HARVEST, DiagnosticLevel.WARN,
+                    "Error mining block as AFK worker for {}: {}", player.getName(), e.getMessage());
+                diagnostics.trace(player.getUniqueId(), request.getWorker().getWorkerId(),
+                    "mineBlockAsPlayer threw {}", e, null);
+            }
+        }
+        
+        reportHarvestBatch(batch, System.nanoTime() - startTime);
+    }
+    
+    /**
+     * Report the results of a harvest batch in bulk
+     */
+    private void reportHarvestBatch(HarvestBatch batch, long elapsedNanos) {
+        Diagnostics diagnostics = plugin.getDiagnostics();
+        int successes = batch.getSuccessCount();
+        int failures = batch.size() - successes;
+        
+        if (failures > 0 && diagnostics.isEnabled(DiagnosticCategory.HARVEST, DiagnosticLevel.WARN)) {
+            StringBuilder failed = new StringBuilder();
+            for (HarvestRequest request : batch.getRequests()) {
+                if (!request.isSuccess()) {
+                    if (failed.length() > 0) failed.append(", ");
+                    failed.append(request.getPlayer().getName());
+                }
             }
-        });
+            diagnostics.log(DiagnosticCategory.HARVEST, DiagnosticLevel.WARN,
+                "mineBlockAsPlayer returned NULL in zone {} for: {}", batch.getZone().getId(), failed);
+        }
+        
+        // Guarded, the arguments would be boxed even with HARVEST disabled
+        if (diagnostics.isEnabled(DiagnosticCategory.HARVEST, DiagnosticLevel.DEBUG)) {
+            diagnostics.log(DiagnosticCategory.HARVEST, DiagnosticLevel.DEBUG, "Batch for zone {}: {} mined in {}ms",
+                batch.getZone().getId(), successes, elapsedNanos / 1_000_000.0);
+        }
+    }
+    
+    /**
+     * Get the cached session state of a player, revalidating it with EdTools when stale
+     */
+    public SessionState getSessionState(Player player) {
+        long now = System.currentTimeMillis();
+        SessionState cached = sessionCache.get(player.getUniqueId());
+        if (cached != null && !cached.isStale(now, plugin.getConfigManager().getSessionRevalidateInterval() * 1000L)) {
+            return cached;
+        }
+        
+        SessionState state = querySessionState(player, cached, now);
+        sessionCache.put(player.getUniqueId(), state);
+        
+        plugin.getDiagnostics().log(DiagnosticCategory.SESSION, DiagnosticLevel.DEBUG,
+            "Revalidated session for {}: in session {}, zone {}", player.getName(), state.isInSession(), state.getZoneId());
+        
+        // Joined a zone session through EdTools itself since the last check; no cached state counts as
+        // not in session, a miss drops it (invalidateSession) and the player may be back before the next check
+        boolean wasInZone = cached != null && cached.isInSession() && Objects.equals(cached.getZoneId(), state.getZoneId());
+        if (state.isInSession() && !wasInZone) {
+            plugin.getWorkerManager().onSessionJoined(player, state.getZoneId());
+        }
+        return state;
+    }
+    
+    private SessionState querySessionState(Player player, SessionState cached, long now) {
+        boolean globalSession = cached != null && cached.isGlobalSession();
+        try {
+            SessionState state = zonesBreaker.execute(() -> {
+                boolean inSession = zonesAPI.isPlayerInSession(player);
+                String zoneId = inSession ? zonesAPI.getPlayerZoneId(player) : null;
+                return new SessionState(inSession, zoneId, globalSession, now);
+            }, null);
+            
+            // Breaker is open, keep what we knew until EdTools answers again
+            if (state == null) {
+                return cached != null ? cached : new SessionState(false, null, globalSession, now);
+            }
+            return state;
+        } catch (Exception e) {
+            plugin.getLogger().warning("EdToolsIntegration: Could not validate session for " + player.getName() + ": " + e.getMessage());
+            return new SessionState(false, null, globalSession, now);
+        }
+    }
+    
+    /**
+     * Drop a player's cached session state so the next harvest revalidates it
+     */
+    public void invalidateSession(UUID playerId) {
+        sessionCache.remove(playerId);
+    }
+    
+    /**
+     * Get the player's loaded block snapshot, loading it from EdTools if there is none (main thread)
+     */
+    public LoadedBlockSnapshot getBlockSnapshot(Player player) {
+        LoadedBlockSnapshot snapshot = blockSnapshots.get(player.getUniqueId());
+        return snapshot != null ? snapshot : refreshBlockSnapshot(player);
+    }
+    
+    /**
+     * Reload the player's loaded block positions from EdTools
+     */
+    public LoadedBlockSnapshot refreshBlockSnapshot(Player player) {
+        LoadedBlockSnapshot snapshot;
+        try {
+            snapshot = LoadedBlockSnapshot.of(zonesBreaker.execute(() -> zonesAPI.getPlayersLoadedBlocks(player), null),
+                System.currentTimeMillis());
+        } catch (Exception e) {
+            plugin.getLogger().warning("EdToolsIntegration: Could not get block positions: " + e.getMessage());
+            snapshot = LoadedBlockSnapshot.EMPTY;
+        }
+        
+        // Empty snapshots are not kept so the next harvest asks again
+        if (snapshot.isEmpty()) {
+            blockSnapshots.remove(player.getUniqueId());
+        } else {
+            blockSnapshots.put(player.getUniqueId(), snapshot);
+        }
+        return snapshot;
+    }
+    
+    /**
+     * Drop a player's loaded block snapshot so the next harvest reloads it
+     */
+    public void invalidateBlockSnapshot(UUID playerId) {
+        blockSnapshots.remove(playerId);
+    }
+    
+    /**
+     * Shutdown the harvest queue and mining executor, waiting for in-flight mining calls
+     * Rate limited writes still queued are sent first
+     */
+    public void shutdown() {
+        if (writeLimiterTask != null) {
+            writeLimiterTask.cancel();
+            writeLimiterTask = null;
+        }
+        if (writeLimiter != null) {
+            writeLimiter.flush();
+        }
+        if (harvestQueue != null) {
+            harvestQueue.shutdown();
+        }
+        sessionCache.clear();
+        blockSnapshots.clear();
+        if (miningExecutor != null) {
+            miningExecutor.shutdown(plugin.getConfigManager().getMiningShutdownTimeout());
+        }
     }
     
     /**
@@ -249,14 +541,6 @@ public class EdToolsIntegrationManager {
         try {
             plugin.getLogger().info("EdToolsIntegration: Attempting to join player " + player.getName() + " to existing EdTools zone: " + zone.getId());
             
-            // First, verify that the zone exists in EdTools by checking if we can get player blocks
-            try {
-                Map<Vector, Material> loadedBlocks = zonesAPI.getPlayersLoadedBlocks(player);
-                plugin.getLogger().info("EdToolsIntegration: Player loaded blocks: " + loadedBlocks.size());
-            } catch (Exception e) {
-                plugin.getLogger().warning("EdToolsIntegration: Could not get loaded blocks - zone may not exist in EdTools");
-            }
-            
             // Try to join the session - this will fail if the zone doesn't exist in EdTools
             if (zone.isUseGlobalSession()) {
                 zonesAPI.joinGlobalSession(player, zone.getId());
@@ -271,9 +555,11 @@ public class EdToolsIntegrationManager {
             zonesAPI.setPlayerBlocksTypeZone(player, zone.getId(), blockType);
             plugin.getLogger().info("EdToolsIntegration: Set block type to " + blockType + " for " + player.getName());
             
-            // Verify the session was created
+            // Verify the session was created, this also seeds the session cache
             boolean inSession = zonesAPI.isPlayerInSession(player);
             String playerZoneId = zonesAPI.getPlayerZoneId(player);
+            sessionCache.put(player.getUniqueId(),
+                new SessionState(inSession, playerZoneId, zone.isUseGlobalSession(), System.currentTimeMillis()));
             plugin.getLogger().info("EdToolsIntegration: Player " + player.getName() + " in session: " + inSession + ", zone: " + playerZoneId);
             
             if (!inSession) {
@@ -282,6 +568,10 @@ public class EdToolsIntegrationManager {
                 return;
             }
             
+            // Snapshot the session's blocks once, harvests walk this instead of asking EdTools
+            LoadedBlockSnapshot snapshot = refreshBlockSnapshot(player);
+            plugin.getLogger().info("EdToolsIntegration: Player loaded blocks: " + snapshot.size());
+            
             plugin.getLogger().info("Player " + player.getName() + " joined AFK zone session: " + zone.getId());
             
         } catch (Exception e) {
@@ -298,6 +588,9 @@ public class EdToolsIntegrationManager {
     public void leaveZoneSession(Player player) {
         if (zonesAPI == null) return;
         
+        invalidateSession(player.getUniqueId());
+        invalidateBlockSnapshot(player.getUniqueId());
+        
         try {
             if (zonesAPI.isPlayerInSession(player)) {
                 zonesAPI.leaveSession(player);
@@ -311,6 +604,32 @@ public class EdToolsIntegrationManager {
         }
     }
     
+    /**
+     * Resolve the player's OmniTool id, checking the hand first and then the inventory
+     * 
+     * @return the tool id, or null if the player carries no OmniTool
+     */
+    public String resolveOmniToolId(Player player) {
+        if (omniToolAPI == null) return null;
+        
+        try {
+            ItemStack tool = omniToolAPI.getOmniToolFromPlayer(player);
+            if (tool != null) {
+                return omniToolAPI.getOmniToolId(tool);
+            }
+            
+            // Try to get any OmniTool from inventory
+            for (ItemStack item : player.getInventory().getContents()) {
+                if (item != null && omniToolAPI.isItemOmniTool(item)) {
+                    return omniToolAPI.getOmniToolId(item);
+                }
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("EdToolsIntegration: Could not resolve OmniTool for " + player.getName() + ": " + e.getMessage());
+        }
+        return null;
+    }
+    
     /**
      * Get booster multiplier for player's currency
      */
@@ -318,7 +637,7 @@ public class EdToolsIntegrationManager {
         if (boostersAPI == null) return 1.0;
         
         try {
-            return boostersAPI.getBoosterValueByEconomy(playerId, currency);
+            return boostersBreaker.execute(() -> boostersAPI.getBoosterValueByEconomy(playerId, currency), 1.0);
         } catch (Exception e) {
             return 1.0;
         }
@@ -331,20 +650,27 @@ public class EdToolsIntegrationManager {
         if (boostersAPI == null) return 1.0;
         
         try {
-            return boostersAPI.getBoosterValueGlobalEnchants(playerId);
+            return boostersBreaker.execute(() -> boostersAPI.getBoosterValueGlobalEnchants(playerId), 1.0);
         } catch (Exception e) {
             return 1.0;
         }
     }
     
     /**
-     * Add currency to player (with booster support)
+     * Add currency to player (with booster support), queued if over the rate limit
      */
     public void addCurrency(UUID playerId, String currency, double amount, boolean affectBoosters) {
         if (currencyAPI == null) return;
         
+        writeLimiter.submit("currency", new EconomyWrite("addCurrency", playerId, currency, affectBoosters), amount,
+            total -> writeCurrency(playerId, currency, total, affectBoosters));
+    }
+    
+    private void writeCurrency(UUID playerId, String currency, double amount, boolean affectBoosters) {
         try {
-            currencyAPI.addCurrency(playerId, currency, amount, affectBoosters);
+            if (!currencyBreaker.execute(() -> currencyAPI.addCurrency(playerId, currency, amount, affectBoosters))) {
+                plugin.getLogger().warning("EdTools currency API unavailable, skipped adding " + amount + " " + currency + " to " + playerId);
+            }
         } catch (Exception e) {
             plugin.getLogger().severe("Error adding currency: " + e.getMessage());
         }
@@ -357,7 +683,7 @@ public class EdToolsIntegrationManager {
         if (currencyAPI == null) return 0;
         
         try {
-            return currencyAPI.getCurrency(playerId, currency);
+            return currencyBreaker.execute(() -> currencyAPI.getCurrency(playerId, currency), 0.0);
         } catch (Exception e) {
             return 0;
         }
@@ -454,8 +780,13 @@ public class EdToolsIntegrationManager {
     public void sellItem(UUID playerId, String itemId, double amount) {
         if (sellAPI == null) return;
         
+        writeLimiter.submit("sell", new EconomyWrite("sellItem", playerId, itemId, false), amount,
+            total -> writeSellItem(playerId, itemId, total));
+    }
+    
+    private void writeSellItem(UUID playerId, String itemId, double amount) {
         try {
-            sellAPI.sellItem(playerId, itemId, amount);
+            sellBreaker.execute(() -> sellAPI.sellItem(playerId, itemId, amount));
         } catch (Exception e) {
             plugin.getLogger().severe("Error selling item: " + e.getMessage());
         }
@@ -467,8 +798,13 @@ public class EdToolsIntegrationManager {
     public void addSellSummary(UUID playerId, String currencyId, double amount) {
         if (sellAPI == null) return;
         
+        writeLimiter.submit("sell", new EconomyWrite("addSellSummary", playerId, currencyId, false), amount,
+            total -> writeSellSummary(playerId, currencyId, total));
+    }
+    
+    private void writeSellSummary(UUID playerId, String currencyId, double amount) {
         try {
-            sellAPI.addSellSummary(playerId, currencyId, amount);
+            sellBreaker.execute(() -> sellAPI.addSellSummary(playerId, currencyId, amount));
         } catch (Exception e) {
             plugin.getLogger().severe("Error adding sell summary: " + e.getMessage());
         }
@@ -480,8 +816,13 @@ public class EdToolsIntegrationManager {
     public void addLevel(UUID playerId, String levelId, double level) {
         if (levelingAPI == null) return;
         
+        writeLimiter.submit("leveling", new EconomyWrite("addLevel", playerId, levelId, false), level,
+            total -> writeLevel(playerId, levelId, total));
+    }
+    
+    private void writeLevel(UUID playerId, String levelId, double level) {
         try {
-            levelingAPI.addLevel(playerId, levelId, level);
+            levelingBreaker.execute(() -> levelingAPI.addLevel(playerId, levelId, level));
         } catch (Exception e) {
             plugin.getLogger().severe("Error adding level: " + e.getMessage());
         }
@@ -494,7 +835,7 @@ public class EdToolsIntegrationManager {
         if (levelingAPI == null) return 0;
         
         try {
-            return levelingAPI.getLevel(playerId, levelId);
+            return levelingBreaker.execute(() -> levelingAPI.getLevel(playerId, levelId), 0.0);
         } catch (Exception e) {
             return 0;
         }
@@ -520,7 +861,7 @@ public class EdToolsIntegrationManager {
         if (backpackAPI == null) return;
         
         try {
-            backpackAPI.sellBackpackItems(player);
+            sellBreaker.execute(() -> backpackAPI.sellBackpackItems(player));
         } catch (Exception e) {
             plugin.getLogger().severe("Error selling backpack items: " + e.getMessage());
         }
@@ -528,6 +869,31 @@ public class EdToolsIntegrationManager {
     
     // API Getters
     
+    public MiningExecutor getMiningExecutor() {
+        return miningExecutor;
+    }
+    
+    public HarvestQueue getHarvestQueue() {
+        return harvestQueue;
+    }
+    
+    /**
+     * Get the circuit breakers of the guarded APIs (empty before initialization)
+     */
+    public List<CircuitBreaker> getCircuitBreakers() {
+        if (zonesBreaker == null) {
+            return List.of();
+        }
+        return List.of(zonesBreaker, currencyBreaker, boostersBreaker, sellBreaker, levelingBreaker);
+    }
+    
+    /**
+     * Get the rate limiter for currency, sell and leveling writes (null before initialization)
+     */
+    public WriteRateLimiter getWriteLimiter() {
+        return writeLimiter;
+    }
+    
     public EdToolsZonesAPI getZonesAPI() {
         return zonesAPI;
     }
@@ -559,4 +925,10 @@ public class EdToolsIntegrationManager {
     public EdToolsBackpackAPI getBackpackAPI() {
         return backpackAPI;
     }
+    
+    /**
+     * Writes with the same key are merged by summing their amounts
+     */
+    private record EconomyWrite(String operation, UUID playerId, String id, boolean affectBoosters) {
+    }
 }
@@ -2,7 +2,6 @@ package gz.devian.afkzoneedtools.managers;
 
 import gz.devian.afkzoneedtools.AfkZoneEdtools;
 import gz.devian.afkzoneedtools.models.AfkZone;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
@@ -49,7 +48,7 @@ public class EffectManager {
      * Play mining particles
      */
     private void playMiningParticles(Player player, Location location, AfkZone zone) {
-        Bukkit.getScheduler().runTask(plugin, () -> {
+        plugin.getTaskScheduler().runForEntity(player, () -> {
             try {
                 Particle particleType = Particle.CRIT; // Use CRIT as default for compatibility
                 
@@ -81,7 +80,7 @@ public class EffectManager {
         if (!plugin.getConfigManager().isParticleEffectsEnabled()) return;
         if (!zone.isBreakParticles()) return;
         
-        Bukkit.getScheduler().runTask(plugin, () -> {
+        plugin.getTaskScheduler().runForEntity(player, () -> {
             try {
                 Location particleLoc = location.clone().add(0, 1, 0);
                 player.spawnParticle(Particle.CRIT, particleLoc, 30, 0.4, 0.4, 0.4, 0.1);
@@ -98,7 +97,7 @@ public class EffectManager {
     public void playSuccessParticles(Player player, Location location) {
         if (!plugin.getConfigManager().isParticleEffectsEnabled()) return;
         
-        Bukkit.getScheduler().runTask(plugin, () -> {
+        plugin.getTaskScheduler().runForEntity(player, () -> {
             try {
                 player.spawnParticle(Particle.HAPPY_VILLAGER, location.clone().add(0, 1.5, 0), 
                     10, 0.5, 0.5, 0.5, 0.05);
@@ -116,7 +115,7 @@ public class EffectManager {
         if (!plugin.getConfigManager().isParticleEffectsEnabled()) return;
         if (!plugin.getConfigManager().isWorkerParticlesEnabled()) return;
         
-        Bukkit.getScheduler().runTask(plugin, () -> {
+        plugin.getTaskScheduler().runForEntity(player, () -> {
             try {
                 Particle particleType = Particle.HAPPY_VILLAGER;
                 
@@ -141,7 +140,7 @@ public class EffectManager {
      * Play sound
      */
     private void playSound(Player player, Location location, String soundName) {
-        Bukkit.getScheduler().runTask(plugin, () -> {
+        plugin.getTaskScheduler().runForEntity(player, () -> {
             try {
                 // Use reflection to handle sound compatibility
                 Class<?> soundClass = Class.forName("org.bukkit.Sound");
@@ -166,7 +165,7 @@ public class EffectManager {
     public void playCurrencyRewardEffect(Player player, double amount, String currency) {
         if (!plugin.getConfigManager().isParticleEffectsEnabled()) return;
         
-        Bukkit.getScheduler().runTask(plugin, () -> {
+        plugin.getTaskScheduler().runForEntity(player, () -> {
             try {
                 Location loc = player.getLocation().add(0, 2, 0);
                 player.spawnParticle(Particle.HEART, loc, 15, 0.3, 0.3, 0.3, 0.1);
@@ -192,7 +191,7 @@ public class EffectManager {
     public void playEnchantActivationEffect(Player player, String enchantName) {
         if (!plugin.getConfigManager().isParticleEffectsEnabled()) return;
         
-        Bukkit.getScheduler().runTask(plugin, () -> {
+        plugin.getTaskScheduler().runForEntity(player, () -> {
             try {
                 Location loc = player.getLocation().add(0, 1, 0);
                 player.spawnParticle(Particle.ENCHANT, loc, 30, 0.5, 0.5, 0.5, 1.0);
@@ -217,7 +216,7 @@ public class EffectManager {
     public void playBoosterEffect(Player player, double multiplier) {
         if (!plugin.getConfigManager().isParticleEffectsEnabled()) return;
         
-        Bukkit.getScheduler().runTask(plugin, () -> {
+        plugin.getTaskScheduler().runForEntity(player, () -> {
             try {
                 Location loc = player.getLocation().add(0, 1.5, 0);
                 player.spawnParticle(Particle.FLAME, loc, 20, 0.3, 0.3, 0.3, 0.05);
@@ -0,0 +1,211 @@
+package gz.devian.afkzoneedtools.managers;
+
+import es.edwardbelt.edlib.iapi.entity.EdEntity;
+import gz.devian.afkzoneedtools.AfkZoneEdtools;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shows each zone's block display only to players near it
+ *
+ * Displays are indexed by world and every player keeps the set of displays it can see. A player is
+ * re-evaluated on join, world change, teleport and chunk crossing: displays within the view radius
+ * are spawned for them and displays beyond the radius (plus one chunk, so walking along the edge
+ * does not flicker) are despawned. Spawn packets scale with nearby players instead of the whole server.
+ */
+public class ViewerTracker {
+
+    private static final double HYSTERESIS_BLOCKS = 16.0;
+
+    private final AfkZoneEdtools plugin;
+    private volatile double showDistanceSquared;
+    private volatile double hideDistanceSquared;
+
+    private final Map<String, TrackedDisplay> displays = new ConcurrentHashMap<>();
+    private final Map<UUID, List<TrackedDisplay>> displaysByWorld = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<TrackedDisplay>> visibleByPlayer = new ConcurrentHashMap<>();
+
+    // Metrics
+    private final AtomicLong spawns = new AtomicLong();
+    private final AtomicLong despawns = new AtomicLong();
+
+    public ViewerTracker(AfkZoneEdtools plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * Re-read the view radius, applied from each player's next update
+     */
+    public void reload() {
+        double radius = plugin.getConfigManager().getDisplayViewRadius();
+        showDistanceSquared = radius * radius;
+        hideDistanceSquared = (radius + HYSTERESIS_BLOCKS) * (radius + HYSTERESIS_BLOCKS);
+    }
+
+    /**
+     * Start tracking a zone's display and show it to the players already near it
+     * Safe from any thread (displays are created on the entity queue worker), players are only
+     * looked at on the global tick and each player's own thread
+     */
+    public void track(String zoneId, EdEntity entity, Location location) {
+        untrack(zoneId);
+
+        TrackedDisplay display = new TrackedDisplay(entity, location);
+        displays.put(zoneId, display);
+        displaysByWorld.computeIfAbsent(location.getWorld().getUID(), id -> new CopyOnWriteArrayList<>()).add(display);
+
+        plugin.getTaskScheduler().runGlobalLater(() -> {
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                plugin.getTaskScheduler().runForEntity(player, () -> updatePlayer(player));
+            }
+        }, 1L);
+    }
+
+    /**
+     * Stop tracking a zone's display (the entity itself is removed by the caller)
+     */
+    public void untrack(String zoneId) {
+        TrackedDisplay display = displays.remove(zoneId);
+        if (display == null) {
+            return;
+        }
+
+        List<TrackedDisplay> worldDisplays = displaysByWorld.get(display.location.getWorld().getUID());
+        if (worldDisplays != null) {
+            worldDisplays.remove(display);
+        }
+        for (UUID viewer : display.viewers) {
+            Set<TrackedDisplay> visible = visibleByPlayer.get(viewer);
+            if (visible != null) {
+                visible.remove(display);
+            }
+        }
+        display.viewers.clear();
+    }
+
+    /**
+     * Spawn displays that came into range of the player and despawn the ones that left it
+     */
+    public void updatePlayer(Player player) {
+        updatePlayer(player, player.getLocation());
+    }
+
+    /**
+     * Same as {@link #updatePlayer(Player)} for a location the player is moving to
+     */
+    public void updatePlayer(Player player, Location location) {
+        if (!player.isOnline() || location.getWorld() == null) {
+            return;
+        }
+
+        UUID playerId = player.getUniqueId();
+        Set<TrackedDisplay> visible = visibleByPlayer.computeIfAbsent(playerId, id -> ConcurrentHashMap.newKeySet());
+
+        for (TrackedDisplay display : visible) {
+            if (distanceSquared(display, location) > hideDistanceSquared) {
+                visible.remove(display);
+                display.viewers.remove(playerId);
+                despawns.incrementAndGet();
+                plugin.getEdLibIntegration().despawnForPlayer(display.entity, player);
+            }
+        }
+
+        List<TrackedDisplay> worldDisplays = displaysByWorld.get(location.getWorld().getUID());
+        if (worldDisplays == null) {
+            return;
+        }
+        for (TrackedDisplay display : worldDisplays) {
+            if (!visible.contains(display) && distanceSquared(display, location) <= showDistanceSquared) {
+                visible.add(display);
+                display.viewers.add(playerId);
+                spawns.incrementAndGet();
+                plugin.getEdLibIntegration().spawnForPlayer(display.entity, player);
+            }
+        }
+    }
+
+    /**
+     * Forget what a player can see, after the client dropped its entities (quit, respawn, world change)
+     */
+    public void removePlayer(UUID playerId) {
+        Set<TrackedDisplay> visible = visibleByPlayer.remove(playerId);
+        if (visible != null) {
+            for (TrackedDisplay display : visible) {
+                display.viewers.remove(playerId);
+            }
+        }
+    }
+
+    /**
+     * Stop tracking every display
+     */
+    public void clear() {
+        displays.clear();
+        displaysByWorld.clear();
+        visibleByPlayer.clear();
+    }
+
+    private static double distanceSquared(TrackedDisplay display, Location location) {
+        World world = location.getWorld();
+        if (world == null || !world.getUID().equals(display.location.getWorld().getUID())) {
+            return Double.MAX_VALUE;
+        }
+        double dx = display.location.getX() - location.getX();
+        double dy = display.location.getY() - location.getY();
+        double dz = display.location.getZ() - location.getZ();
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    // Metrics
+
+    /**
+     * Get the players currently seeing a zone's display
+     */
+    public Collection<UUID> getViewers(String zoneId) {
+        TrackedDisplay display = displays.get(zoneId);
+        return display != null ? display.viewers : Set.of();
+    }
+
+    public int getTrackedCount() {
+        return displays.size();
+    }
+
+    public int getTotalViewers() {
+        int total = 0;
+        for (TrackedDisplay display : displays.values()) {
+            total += display.viewers.size();
+        }
+        return total;
+    }
+
+    public long getSpawns() {
+        return spawns.get();
+    }
+
+    public long getDespawns() {
+        return despawns.get();
+    }
+
+    private static class TrackedDisplay {
+        private final EdEntity entity;
+        private final Location location;
+        private final Set<UUID> viewers = ConcurrentHashMap.newKeySet();
+
+        private TrackedDisplay(EdEntity entity, Location location) {
+            this.entity = entity;
+            this.location = location;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package gz.devian.afkzoneedtools.managers;
+
+import es.edwardbelt.edlib.iapi.entity.EdEntity;
+import gz.devian.afkzoneedtools.AfkZoneEdtools;
+import gz.devian.afkzoneedtools.models.AfkZone;
+import gz.devian.afkzoneedtools.scheduling.EntityCommandQueue;
+import org.bukkit.Location;
+import org.bukkit.entity.EntityType;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Per-zone pool of worker entities
+ *
+ * Worker entities are invisible mobs standing on the zone center; all a player sees of them is the name tag.
+ * Instead of creating an entity when a worker starts and removing it when the worker stops, released
+ * entities stay spawned with their name cleared and are handed to the next worker of the zone, so toggling
+ * AFK costs one name update (coalesced by the entity command queue if it happens within a tick).
+ * At most {@code size} entities are kept idle per zone, idle entities past the timeout are removed
+ * down to the {@code prewarm} count, which is also created up front for every zone.
+ */
+public class WorkerEntityPool {
+
+    private final AfkZoneEdtools plugin;
+
+    // Guarded by this
+    private int size;
+    private int prewarm;
+    private long idleTimeoutMillis;
+    private final Map<String, Deque<PooledEntity>> idle = new HashMap<>();
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public WorkerEntityPool(AfkZoneEdtools plugin) {
+        this.plugin = plugin;
+        readConfig();
+    }
+
+    /**
+     * Re-read the pool settings, then replace every idle entity and prewarm again
+     * Entities held by workers are kept and released under the new settings
+     */
+    public synchronized void reload() {
+        clear();
+        readConfig();
+        prewarm();
+    }
+
+    // Guarded by this
+    private void readConfig() {
+        ConfigManager config = plugin.getConfigManager();
+        size = Math.max(0, config.getWorkerPoolSize());
+        prewarm = Math.min(size, Math.max(0, config.getWorkerPoolPrewarm()));
+        idleTimeoutMillis = config.getWorkerPoolIdleTimeout() * 1000L;
+    }
+
+    /**
+     * Take an idle entity of the zone, or queue the creation of a new one
+     * The entity has no name, the caller shows it by setting one
+     */
+    public synchronized EntityCommandQueue.Handle<EdEntity> acquire(AfkZone zone) {
+        Deque<PooledEntity> entities = idle.get(zone.getId());
+        if (entities != null) {
+            PooledEntity pooled;
+            while ((pooled = entities.pollLast()) != null) {
+                if (pooled.matches(zone)) {
+                    hits++;
+                    return pooled.handle;
+                }
+                // Zone moved or changed worker type since the entity was created
+                plugin.getEdLibIntegration().removeEntity(pooled.handle);
+                evictions++;
+            }
+        }
+
+        misses++;
+        return create(zone);
+    }
+
+    /**
+     * Hide an entity taken with {@link #acquire} and keep it for the zone's next worker
+     * Removed instead if the zone already has {@code size} idle entities
+     */
+    public synchronized void release(AfkZone zone, EntityCommandQueue.Handle<?> handle) {
+        @SuppressWarnings("unchecked")
+        EntityCommandQueue.Handle<EdEntity> entity = (EntityCommandQueue.Handle<EdEntity>) handle;
+
+        Deque<PooledEntity> entities = idle.computeIfAbsent(zone.getId(), id -> new ArrayDeque<>());
+        if (entities.size() >= size) {
+            plugin.getEdLibIntegration().removeEntity(entity);
+            return;
+        }
+
+        plugin.getEdLibIntegration().updateEntity(entity, "name", e -> e.setDisplayName(null));
+        entities.addLast(new PooledEntity(entity, zone.getWorkerType(), zone.getCenterLocation(), System.currentTimeMillis()));
+    }
+
+    /**
+     * Fill every zone's pool up to the prewarm count
+     */
+    public synchronized void prewarm() {
+        if (prewarm == 0) {
+            return;
+        }
+
+        for (AfkZone zone : plugin.getZoneManager().getAllZones()) {
+            if (zone.getCenterLocation() == null) {
+                continue;
+            }
+            Deque<PooledEntity> entities = idle.computeIfAbsent(zone.getId(), id -> new ArrayDeque<>());
+            long now = System.currentTimeMillis();
+            while (entities.size() < prewarm) {
+                entities.addLast(new PooledEntity(create(zone), zone.getWorkerType(), zone.getCenterLocation(), now));
+            }
+        }
+    }
+
+    /**
+     * Remove entities idle for longer than the timeout, keeping the prewarm count per zone
+     */
+    public synchronized void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        for (Deque<PooledEntity> entities : idle.values()) {
+            // Oldest first, acquire takes from the other end
+            Iterator<PooledEntity> iterator = entities.iterator();
+            while (entities.size() > prewarm && iterator.hasNext()) {
+                PooledEntity pooled = iterator.next();
+                if (pooled.idleSince > cutoff) {
+                    break;
+                }
+                iterator.remove();
+                plugin.getEdLibIntegration().removeEntity(pooled.handle);
+                evictions++;
+            }
+        }
+    }
+
+    /**
+     * Remove every idle entity
+     */
+    public synchronized void clear() {
+        for (Deque<PooledEntity> entities : idle.values()) {
+            for (PooledEntity pooled : entities) {
+                plugin.getEdLibIntegration().removeEntity(pooled.handle);
+            }
+        }
+        idle.clear();
+    }
+
+    private EntityCommandQueue.Handle<EdEntity> create(AfkZone zone) {
+        return plugin.getEdLibIntegration().createEntity(zone.getWorkerType(), zone.getCenterLocation().clone(),
+            EdEntity::setInvisible); // Make invisible for cleaner look
+    }
+
+    // Metrics
+
+    public synchronized int getIdleCount() {
+        int total = 0;
+        for (Deque<PooledEntity> entities : idle.values()) {
+            total += entities.size();
+        }
+        return total;
+    }
+
+    public synchronized int getSize() {
+        return size;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    private static class PooledEntity {
+        private final EntityCommandQueue.Handle<EdEntity> handle;
+        private final EntityType type;
+        private final Location location;
+        private final long idleSince;
+
+        private PooledEntity(EntityCommandQueue.Handle<EdEntity> handle, EntityType type, Location location, long idleSince) {
+            this.handle = handle;
+            this.type = type;
+            this.location = location != null ? location.clone() : null;
+            this.idleSince = idleSince;
+        }
+
+        private boolean matches(AfkZone zone) {
+            return type == zone.getWorkerType() && location != null && location.equals(zone.getCenterLocation());
+        }
+    }
+}
@@ -4,49 +4,334 @@ import es.edwardbelt.edlib.iapi.entity.EdEntity;
 import es.edwardbelt.edlib.iapi.entity.goal.impl.EdGoalDelay;
 import es.edwardbelt.edlib.iapi.entity.goal.impl.EdGoalMove;
 import gz.devian.afkzoneedtools.AfkZoneEdtools;
+import gz.devian.afkzoneedtools.diagnostics.DiagnosticCategory;
+import gz.devian.afkzoneedtools.diagnostics.DiagnosticLevel;
 import gz.devian.afkzoneedtools.models.AfkWorker;
 import gz.devian.afkzoneedtools.models.AfkZone;
+import gz.devian.afkzoneedtools.models.HarvestBatch;
+import gz.devian.afkzoneedtools.models.HarvestRequest;
+import gz.devian.afkzoneedtools.scheduling.EntityCommandQueue;
+import gz.devian.afkzoneedtools.scheduling.TaskScheduler;
+import gz.devian.afkzoneedtools.scheduling.TickBudgetGovernor;
+import gz.devian.afkzoneedtools.scheduling.TimingWheel;
 import org.bukkit.Bukkit;
-import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.util.Vector;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Manages AFK workers that automatically mine blocks
  * 
  * CRITICAL: Workers use EdLib's goal system for movement and automation
  * They call mineBlockAsPlayer() with ALL EdTools flags enabled for complete integration
+ * 
+ * Harvests are driven by a timing wheel keyed on each worker's next harvest tick,
+ * so a tick only touches the workers that are actually due. Wheel access is guarded by its monitor.
+ * Due workers are grouped into one harvest batch per zone, mined by a single async job.
+ * A tick budget governor defers due workers that do not fit in the tick, oldest first.
+ * With phase spread enabled each zone's workers are spaced evenly across the harvest interval.
+ * A worker has at most one mining call outstanding; it is rescheduled once that call completes.
+ * Workers without an OmniTool are suspended until the tool tracking listener sees one again.
+ * Failing workers back off exponentially (with jitter) and are quarantined after too many failures.
  */
 public class WorkerManager {
     
+    /**
+     * How the next harvest is placed when a mining call finishes late
+     */
+    public enum CatchUpMode {
+        NONE,       // Wait a full interval from completion
+        FIXED_RATE  // Keep the original cadence, harvesting right away if the slot already passed
+    }
+    
     private final AfkZoneEdtools plugin;
-    private final Map<UUID, AfkWorker> workers = new ConcurrentHashMap<>();
-    private final Map<String, List<UUID>> zoneWorkers = new ConcurrentHashMap<>();
+    private final WorkerRegistry registry = new WorkerRegistry();
+    
+    private final TimingWheel<AfkWorker> harvestWheel;
+    private final List<AfkWorker> dueWorkers = new ArrayList<>();
+    private final Deque<AfkWorker> pendingWorkers = new ArrayDeque<>(); // Due, in round-robin order
+    private final TickBudgetGovernor governor;
+    private final Map<String, HarvestBatch> tickBatches = new LinkedHashMap<>();
+    private final Map<AfkZone, List<AfkWorker>> regionWork = new LinkedHashMap<>();
+    private final Queue<AfkWorker> completedHarvests = new ConcurrentLinkedQueue<>(); // Filled by mining threads
+    private long currentTick;
+    private int updateInterval;
+    // Read once per reload, not per harvest
+    private volatile CatchUpMode catchUpMode = CatchUpMode.NONE;
+    private volatile boolean phaseSpread;
     
-    private int workerTaskId = -1;
+    private TaskScheduler.TaskHandle workerTask;
+    
+    private final WorkerEntityPool entityPool;
+    private TaskScheduler.TaskHandle entityPoolTask;
+    private TaskScheduler.TaskHandle sessionWatchTask;
     
     public WorkerManager(AfkZoneEdtools plugin) {
         this.plugin = plugin;
+        this.harvestWheel = new TimingWheel<>(plugin.getConfigManager().getTimingWheelSize(), 0L);
+        
+        ConfigManager config = plugin.getConfigManager();
+        this.governor = new TickBudgetGovernor(
+            WorkerManager::readAverageTickTime,
+            config.isTickBudgetEnabled(),
+            config.getTickBudgetMillis(),
+            config.getOverloadedTickBudgetMillis(),
+            config.getTickBudgetMsptThreshold(),
+            config.getTickBudgetMinWorkers()
+        );
+        this.entityPool = new WorkerEntityPool(plugin);
     }
     
     /**
      * Start worker management task
      */
     public void startWorkerTask() {
-        int updateInterval = plugin.getConfigManager().getWorkerUpdateInterval();
+        reloadSettings();
+        updateInterval = plugin.getConfigManager().getWorkerUpdateInterval();
+        workerTask = plugin.getTaskScheduler().runGlobalTimer(this::tickWorkers, 20L, updateInterval);
+        
+        entityPool.prewarm();
+        entityPoolTask = plugin.getTaskScheduler().runGlobalTimer(entityPool::evictIdle, 200L, 200L);
+        
+        long sessionWatchInterval = Math.max(1, plugin.getConfigManager().getSessionRevalidateInterval()) * 20L;
+        sessionWatchTask = plugin.getTaskScheduler().runGlobalTimer(this::watchQuarantinedSessions, sessionWatchInterval, sessionWatchInterval);
+        
+        plugin.getLogger().info("Started worker management task");
+    }
+    
+    /**
+     * Re-read the scheduling settings looked up on every harvest
+     */
+    public void reloadSettings() {
+        catchUpMode = plugin.getConfigManager().getHarvestCatchUpMode();
+        phaseSpread = plugin.getConfigManager().isPhaseSpreadEnabled();
+    }
+    
+    /**
+     * Advance the harvest wheel and process due workers within the tick budget
+     * On Folia each zone's workers are handed to the region that owns the zone center
+     */
+    private void tickWorkers() {
+        // Reschedule workers whose mining call finished since the last tick
+        AfkWorker completed;
+        while ((completed = completedHarvests.poll()) != null) {
+            if (!completed.isHarvestable()) {
+                continue;
+            }
+            if (completed.getConsecutiveFailures() > 0) {
+                handleFailure(completed);
+            } else {
+                scheduleAfterHarvest(completed);
+            }
+        }
         
-        workerTaskId = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            for (AfkWorker worker : workers.values()) {
-                if (worker.isActive()) {
-                    processWorker(worker);
+        synchronized (harvestWheel) {
+            currentTick += updateInterval;
+            harvestWheel.advance(currentTick, dueWorkers);
+        }
+        
+        // Deferred workers stay at the head so nobody starves
+        pendingWorkers.addAll(dueWorkers);
+        dueWorkers.clear();
+        
+        // EdTools zones API is failing or stalled, hold due workers until its circuit breaker lets calls through
+        if (plugin.getEdToolsIntegration().isHarvestingPaused()) {
+            return;
+        }
+        
+        boolean regionThreaded = plugin.getTaskScheduler().isRegionThreaded();
+        
+        governor.beginTick();
+        try {
+            EdToolsIntegrationManager edTools = plugin.getEdToolsIntegration();
+            
+            int reserved = 0;
+            AfkWorker worker;
+            while (governor.hasBudget() && (worker = pendingWorkers.poll()) != null) {
+                if (!worker.isHarvestable()) {
+                    continue;
                 }
+                
+                // Harvest queue is full (BLOCK policy), leave the rest for a later tick
+                if (!edTools.reserveHarvest()) {
+                    pendingWorkers.addFirst(worker);
+                    edTools.getHarvestQueue().recordBlockedTick();
+                    break;
+                }
+                
+                AfkZone zone = worker.getZone();
+                if (regionThreaded) {
+                    regionWork.computeIfAbsent(zone, z -> new ArrayList<>()).add(worker);
+                } else {
+                    processWorker(worker, tickBatches.computeIfAbsent(zone.getId(), id -> new HarvestBatch(zone)));
+                    reserved++;
+                }
+                governor.recordProcessed();
+            }
+            
+            int offered = 0;
+            for (HarvestBatch batch : tickBatches.values()) {
+                offered += batch.size();
+                dispatchBatch(batch);
+            }
+            edTools.cancelHarvestReservations(reserved - offered);
+            for (Map.Entry<AfkZone, List<AfkWorker>> entry : regionWork.entrySet()) {
+                AfkZone zone = entry.getKey();
+                List<AfkWorker> zoneDue = entry.getValue();
+                plugin.getTaskScheduler().runAtLocation(zone.getCenterLocation(), () -> processZone(zone, zoneDue));
+            }
+        } finally {
+            tickBatches.clear();
+            regionWork.clear();
+            governor.endTick(pendingWorkers.size());
+        }
+    }
+    
+    /**
+     * Process a zone's due workers on the thread that owns the zone (Folia)
+     */
+    private void processZone(AfkZone zone, List<AfkWorker> zoneDue) {
+        HarvestBatch batch = new HarvestBatch(zone);
+        for (AfkWorker worker : zoneDue) {
+            // Quarantined or suspended since the tick handed it over
+            if (worker.isHarvestable()) {
+                processWorker(worker, batch);
             }
-        }, 20L, updateInterval).getTaskId();
+        }
+        // One slot was reserved per due worker
+        plugin.getEdToolsIntegration().cancelHarvestReservations(zoneDue.size() - batch.size());
+        dispatchBatch(batch);
+    }
+    
+    /**
+     * Hand a zone's batch to EdTools and play one mining animation for the zone
+     */
+    private void dispatchBatch(HarvestBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        plugin.getEdToolsIntegration().mineBlocksAsAfkWorkers(batch);
+        plugin.getBlockManager().playMiningAnimation(batch.getZone());
         
-        plugin.getLogger().info("Started worker management task");
+        if (plugin.getDiagnostics().isTracing()) {
+            for (HarvestRequest request : batch.getRequests()) {
+                plugin.getDiagnostics().trace(request.getPlayer().getUniqueId(), request.getWorker().getWorkerId(),
+                    "Queued in batch of {} for zone {}, mining animation played", batch.size(), batch.getZone().getId());
+            }
+        }
+    }
+    
+    /**
+     * Read the server's average tick time, 0 if the platform does not expose it
+     */
+    private static double readAverageTickTime() {
+        try {
+            return Bukkit.getAverageTickTime();
+        } catch (UnsupportedOperationException e) {
+            return 0;
+        }
+    }
+    
+    /**
+     * Schedule a worker's next harvest one harvest interval from now
+     */
+    private void scheduleNextHarvest(AfkWorker worker) {
+        synchronized (harvestWheel) {
+            long intervalTicks = toTicks(worker.getZone().getHarvestInterval());
+            long deadline = phaseSpread
+                ? nextPhaseTick(currentTick, worker.getHarvestPhase(), intervalTicks)
+                : currentTick + intervalTicks;
+            scheduleHarvestAt(worker, deadline);
+        }
+    }
+    
+    /**
+     * Schedule the next harvest of a worker whose mining call just completed
+     */
+    private void scheduleAfterHarvest(AfkWorker worker) {
+        synchronized (harvestWheel) {
+            long intervalTicks = toTicks(worker.getZone().getHarvestInterval());
+            TimingWheel.Entry<AfkWorker> entry = worker.getHarvestEntry();
+            
+            // FIXED_RATE counts from the slot the harvest was due in, NONE from completion
+            long earliest = catchUpMode == CatchUpMode.FIXED_RATE && entry != null
+                ? entry.getDeadline() + intervalTicks
+                : currentTick + intervalTicks;
+            
+            // Overdue deadlines fire on the next tick (only once, missed slots are skipped)
+            long deadline = phaseSpread
+                ? nextPhaseTick(Math.max(earliest - 1, currentTick), worker.getHarvestPhase(), intervalTicks)
+                : earliest;
+            scheduleHarvestAt(worker, deadline);
+        }
+    }
+    
+    private void scheduleHarvestAt(AfkWorker worker, long deadline) {
+        TimingWheel.Entry<AfkWorker> entry = worker.getHarvestEntry();
+        if (entry == null) {
+            worker.setHarvestEntry(harvestWheel.schedule(worker, deadline));
+        } else {
+            harvestWheel.reschedule(entry, deadline);
+        }
+        
+        if (plugin.getDiagnostics().isTracing()) {
+            plugin.getDiagnostics().trace(worker.getPlayerId(), worker.getWorkerId(),
+                "Harvest scheduled for tick {} (now {})", worker.getHarvestEntry().getDeadline(), currentTick);
+        }
+    }
+    
+    /**
+     * First tick after the given one that falls on the phase
+     */
+    private static long nextPhaseTick(long afterTick, long phase, long intervalTicks) {
+        long next = afterTick + 1;
+        return next + Math.floorMod(phase - next, intervalTicks);
+    }
+    
+    /**
+     * Spread a zone's workers evenly across its harvest interval
+     * 
+     * Workers are ordered by player UUID so phases are deterministic, and the zone id
+     * offsets the whole zone so different zones do not line up either. Waiting workers
+     * whose phase changed are moved to their new slot, at most one interval away.
+     */
+    private void rebalanceZonePhases(AfkZone zone) {
+        if (!phaseSpread) {
+            return;
+        }
+        
+        List<AfkWorker> zoneWorkerList = getZoneWorkers(zone.getId());
+        zoneWorkerList.sort(Comparator.comparing(AfkWorker::getPlayerId));
+        
+        long intervalTicks = toTicks(zone.getHarvestInterval());
+        long zoneOffset = Math.floorMod(zone.getId().hashCode(), intervalTicks);
+        int count = zoneWorkerList.size();
+        
+        synchronized (harvestWheel) {
+            for (int i = 0; i < count; i++) {
+                AfkWorker worker = zoneWorkerList.get(i);
+                long phase = (zoneOffset + i * intervalTicks / count) % intervalTicks;
+                if (phase == worker.getHarvestPhase()) {
+                    continue;
+                }
+                
+                worker.setHarvestPhase(phase);
+                TimingWheel.Entry<AfkWorker> entry = worker.getHarvestEntry();
+                if (entry != null && entry.isScheduled()) {
+                    harvestWheel.reschedule(entry, nextPhaseTick(currentTick, phase, intervalTicks));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Convert milliseconds to server ticks (at least one tick)
+     */
+    private static long toTicks(long millis) {
+        return Math.max(1L, (millis + 49L) / 50L);
     }
     
     /**
@@ -54,42 +339,46 @@ public class WorkerManager {
      */
     public AfkWorker createWorker(Player player, AfkZone zone) {
         // Check if player already has a worker in this zone
-        UUID existingWorkerId = getPlayerWorkerInZone(player.getUniqueId(), zone.getId());
-        if (existingWorkerId != null) {
-            return workers.get(existingWorkerId);
-        }
-        
-        // Check max workers
-        List<UUID> zoneWorkerList = zoneWorkers.computeIfAbsent(zone.getId(), k -> new ArrayList<>());
-        if (zoneWorkerList.size() >= zone.getMaxWorkers()) {
-            return null;
+        AfkWorker existingWorker = registry.getByPlayerAndZone(player.getUniqueId(), zone.getId());
+        if (existingWorker != null) {
+            // Rejoining is how a player retries a quarantined worker
+            if (existingWorker.isQuarantined()) {
+                plugin.getEdToolsIntegration().joinZoneSession(player, zone);
+                releaseQuarantine(existingWorker);
+            }
+            return existingWorker;
         }
         
-        // Create worker
+        // Create worker and reserve its slot (checks max workers atomically)
         AfkWorker worker = new AfkWorker(player, zone);
+        if (!registry.register(worker, zone.getMaxWorkers())) {
+            // Either the zone is full (null) or a concurrent create won the slot
+            return registry.getByPlayerAndZone(player.getUniqueId(), zone.getId());
+        }
         
         // Join EdTools session (it will handle if already in session)
         plugin.getEdToolsIntegration().joinZoneSession(player, zone);
         
-        // Get player's OmniTool
-        String toolId = plugin.getEdToolsIntegration().getOmniToolId(
-            plugin.getEdToolsIntegration().getPlayerOmniTool(player)
-        );
+        // Get player's OmniTool (hand or inventory), later changes come from the tool tracking listener
+        String toolId = plugin.getEdToolsIntegration().resolveOmniToolId(player);
         worker.setPlayerToolId(toolId);
         
-        // Spawn worker entity
-        Location workerLocation = zone.getCenterLocation().clone();
-        plugin.getEdLibIntegration().createEntity(zone.getWorkerType(), workerLocation, entity -> {
+        zone.addWorker(worker);
+        rebalanceZonePhases(zone);
+        if (toolId != null) {
+            scheduleNextHarvest(worker);
+        } else {
+            worker.setSuspended(true);
+            plugin.getLogger().warning("Player " + player.getName() + " has no valid OmniTool, worker suspended until one is found");
+        }
+        
+        // Show a pooled worker entity (spawned first if the zone has none idle)
+        EntityCommandQueue.Handle<EdEntity> entityHandle = entityPool.acquire(zone);
+        worker.setEntityHandle(entityHandle);
+        String workerName = "§6" + player.getName() + "'s Worker";
+        plugin.getEdLibIntegration().updateEntity(entityHandle, "name", entity -> {
             worker.setEntityInstance(entity);
-            
-            // Setup worker appearance
-            entity.setDisplayName("§6" + player.getName() + "'s Worker");
-            entity.setInvisible(); // Make invisible for cleaner look
-            
-            // Add to tracking
-            workers.put(worker.getWorkerId(), worker);
-            zoneWorkerList.add(worker.getWorkerId());
-            zone.addWorker(worker);
+            entity.setDisplayName(workerName);
             
             if (plugin.getConfigManager().isDebugEnabled()) {
                 plugin.getLogger().info("Created worker " + worker.getWorkerId() + " for " + player.getName());
@@ -102,11 +391,7 @@ public class WorkerManager {
     /**
      * Process worker actions
      */
-    private void processWorker(AfkWorker worker) {
-        if (!worker.canHarvest()) {
-            return;
-        }
-        
+    private void processWorker(AfkWorker worker, HarvestBatch batch) {
         Player player = Bukkit.getPlayer(worker.getPlayerId());
         if (player == null || !player.isOnline()) {
             removeWorker(worker.getWorkerId());
@@ -115,54 +400,69 @@ public class WorkerManager {
         
         AfkZone zone = worker.getZone();
         if (zone == null || !zone.isEnabled()) {
+            scheduleNextHarvest(worker);
             return;
         }
         
-        plugin.getLogger().info("Worker " + worker.getWorkerId() + " processing harvest for " + player.getName());
-        plugin.getLogger().info("Zone: " + zone.getId() + ", Location: " + zone.getCenterLocation());
-        
-        // CRITICAL: Mine block using EdTools integration with ALL flags enabled
-        plugin.getEdToolsIntegration().mineBlockAsAfkWorker(worker, player, zone);
-        
-        // Play mining animation
-        plugin.getBlockManager().playMiningAnimation(zone);
+        // Tool was lost since the last refresh, wait for the tracker to find a new one
+        if (worker.getPlayerToolId() == null) {
+            suspendWorker(worker);
+            return;
+        }
         
-        // Play effects
-        plugin.getEffectManager().playMiningEffects(player, zone);
+        plugin.getDiagnostics().logWorker(DiagnosticCategory.WORKER, DiagnosticLevel.DEBUG, worker.getWorkerId(),
+            "Processing harvest for {} in zone {}", player.getName(), zone.getId());
+        plugin.getDiagnostics().trace(player.getUniqueId(), worker.getWorkerId(), "Due, processing in zone {}", zone.getId(), null);
         
-        // Update last harvest time
-        worker.setLastHarvestTime(System.currentTimeMillis());
+        // CRITICAL: Queue the harvest in this tick's batch for the zone (mined with ALL flags enabled)
+        // Single-flight: the worker is only rescheduled once this mining call completes
+        HarvestRequest request = plugin.getEdToolsIntegration().prepareHarvest(worker, player, zone);
+        if (request == null) {
+            // No valid session, back off instead of retrying every interval
+            worker.recordFailure();
+            worker.setLastHarvestTime(System.currentTimeMillis());
+            handleFailure(worker);
+            return;
+        }
         
-        plugin.getLogger().info("Worker " + worker.getWorkerId() + " completed harvest processing");
+        if (worker.tryBeginHarvest()) {
+            batch.add(request);
+            
+            // Play effects
+            plugin.getEffectManager().playMiningEffects(player, zone);
+            plugin.getDiagnostics().trace(player.getUniqueId(), worker.getWorkerId(), "Mining effects played", null, null);
+        }
     }
     
     /**
      * Remove a worker
      */
     public void removeWorker(UUID workerId) {
-        AfkWorker worker = workers.remove(workerId);
+        AfkWorker worker = registry.unregister(workerId);
         if (worker == null) return;
         
-        // Remove from zone tracking
-        List<UUID> zoneWorkerList = zoneWorkers.get(worker.getZone().getId());
-        if (zoneWorkerList != null) {
-            zoneWorkerList.remove(workerId);
-        }
+        worker.setActive(false);
         
         // Remove from zone
         worker.getZone().removeWorker(worker);
         
-        // Remove entity
-        if (worker.getEntityInstance() != null) {
-            plugin.getEdLibIntegration().removeEntity((EdEntity) worker.getEntityInstance());
+        // Cancel pending harvest
+        synchronized (harvestWheel) {
+            harvestWheel.cancel(worker.getHarvestEntry());
+        }
+        rebalanceZonePhases(worker.getZone());
+        
+        // Hide the entity and return it to the zone's pool
+        if (worker.getEntityHandle() != null) {
+            entityPool.release(worker.getZone(), worker.getEntityHandle());
+            worker.setEntityHandle(null);
+            worker.setEntityInstance(null);
         }
         
         // Note: We intentionally do NOT leave the EdTools session here
         // This allows players to return and reactivate AFK mining without rejoining EdTools
         // The EdTools session will remain active until the player manually leaves or the server restarts
         
-        worker.setActive(false);
-        
         if (plugin.getConfigManager().isDebugEnabled()) {
             plugin.getLogger().info("Removed worker " + workerId);
         }
@@ -172,76 +472,56 @@ public class WorkerManager {
      * Remove all workers for a player
      */
     public void removePlayerWorkers(UUID playerId) {
-        List<UUID> toRemove = new ArrayList<>();
-        
-        for (AfkWorker worker : workers.values()) {
-            if (worker.getPlayerId().equals(playerId)) {
-                toRemove.add(worker.getWorkerId());
-            }
+        List<AfkWorker> toRemove = new ArrayList<>(registry.getByPlayer(playerId));
+        for (AfkWorker worker : toRemove) {
+            removeWorker(worker.getWorkerId());
         }
-        
-        toRemove.forEach(this::removeWorker);
     }
     
     /**
      * Remove all workers from a zone
      */
     public void removeZoneWorkers(String zoneId) {
-        List<UUID> workerList = zoneWorkers.get(zoneId);
-        if (workerList == null) return;
-        
-        List<UUID> toRemove = new ArrayList<>(workerList);
-        toRemove.forEach(this::removeWorker);
+        List<AfkWorker> toRemove = new ArrayList<>(registry.getByZone(zoneId));
+        for (AfkWorker worker : toRemove) {
+            removeWorker(worker.getWorkerId());
+        }
     }
     
     /**
      * Get player's worker in a zone
      */
     public UUID getPlayerWorkerInZone(UUID playerId, String zoneId) {
-        for (AfkWorker worker : workers.values()) {
-            if (worker.getPlayerId().equals(playerId) && 
-                worker.getZone().getId().equals(zoneId)) {
-                return worker.getWorkerId();
-            }
-        }
-        return null;
+        AfkWorker worker = registry.getByPlayerAndZone(playerId, zoneId);
+        return worker != null ? worker.getWorkerId() : null;
     }
     
     /**
      * Get all workers for a player
      */
     public List<AfkWorker> getPlayerWorkers(UUID playerId) {
-        List<AfkWorker> playerWorkers = new ArrayList<>();
-        for (AfkWorker worker : workers.values()) {
-            if (worker.getPlayerId().equals(playerId)) {
-                playerWorkers.add(worker);
-            }
-        }
-        return playerWorkers;
+        return new ArrayList<>(registry.getByPlayer(playerId));
+    }
+    
+    /**
+     * Check if a player has any worker, without copying the worker list
+     */
+    public boolean hasWorkers(UUID playerId) {
+        return !registry.getByPlayer(playerId).isEmpty();
     }
     
     /**
      * Get all workers in a zone
      */
     public List<AfkWorker> getZoneWorkers(String zoneId) {
-        List<UUID> workerIds = zoneWorkers.get(zoneId);
-        if (workerIds == null) return Collections.emptyList();
-        
-        List<AfkWorker> result = new ArrayList<>();
-        for (UUID workerId : workerIds) {
-            AfkWorker worker = workers.get(workerId);
-            if (worker != null) {
-                result.add(worker);
-            }
-        }
-        return result;
+        return new ArrayList<>(registry.getByZone(zoneId));
     }
     
     /**
      * Get a worker by ID
      */
     public AfkWorker getWorker(UUID workerId) {
-        return workers.get(workerId);
+        return registry.get(workerId);
     }
     
     /**
@@ -250,19 +530,247 @@ public class WorkerManager {
     public AfkWorker getWorkerByPlayer(Player player) {
         if (player == null) return null;
         
-        for (AfkWorker worker : workers.values()) {
-            if (worker.getPlayerId().equals(player.getUniqueId())) {
-                return worker;
+        return registry.getAnyByPlayer(player.getUniqueId());
+    }
+    
+    /**
+     * Get the tick budget governor (deferral metrics)
+     */
+    public TickBudgetGovernor getGovernor() {
+        return governor;
+    }
+    
+    /**
+     * Update the OmniTool of every worker of a player, suspending or resuming them as needed
+     * Called by the tool tracking listener after the player's inventory changed
+     */
+    public void refreshPlayerTool(Player player) {
+        Collection<AfkWorker> workers = registry.getByPlayer(player.getUniqueId());
+        if (workers.isEmpty()) {
+            return;
+        }
+        
+        String toolId = plugin.getEdToolsIntegration().resolveOmniToolId(player);
+        for (AfkWorker worker : new ArrayList<>(workers)) {
+            boolean toolChanged = !Objects.equals(toolId, worker.getPlayerToolId());
+            worker.setPlayerToolId(toolId);
+            plugin.getDiagnostics().trace(player.getUniqueId(), worker.getWorkerId(), "Tool resolved from inventory: {}", toolId, null);
+            if (toolId == null) {
+                suspendWorker(worker);
+                continue;
+            }
+            if (worker.isSuspended()) {
+                resumeWorker(worker);
+            }
+            // A different tool may fix whatever kept failing
+            if (toolChanged && worker.isQuarantined()) {
+                releaseQuarantine(worker);
+            }
+        }
+    }
+    
+    /**
+     * Take a worker off the harvest schedule until it has a tool again
+     */
+    private void suspendWorker(AfkWorker worker) {
+        if (worker.isSuspended()) {
+            return;
+        }
+        
+        worker.setSuspended(true);
+        synchronized (harvestWheel) {
+            harvestWheel.cancel(worker.getHarvestEntry());
+        }
+        plugin.getDiagnostics().trace(worker.getPlayerId(), worker.getWorkerId(), "Suspended, no OmniTool", null, null);
+        
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("Suspended worker " + worker.getWorkerId() + " of " + worker.getPlayerName() + " (no OmniTool)");
+        }
+    }
+    
+    /**
+     * Put a suspended worker back on the harvest schedule
+     */
+    private void resumeWorker(AfkWorker worker) {
+        worker.setSuspended(false);
+        
+        // An outstanding mining call reschedules the worker when it completes
+        if (worker.isActive() && !worker.isHarvestInFlight()) {
+            scheduleNextHarvest(worker);
+        }
+        
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("Resumed worker " + worker.getWorkerId() + " of " + worker.getPlayerName());
+        }
+    }
+    
+    /**
+     * Count the workers suspended for lack of an OmniTool
+     */
+    public int getSuspendedWorkerCount() {
+        int count = 0;
+        for (AfkWorker worker : registry.getAll()) {
+            if (worker.isSuspended()) {
+                count++;
             }
         }
-        return null;
+        return count;
+    }
+    
+    /**
+     * Mark a worker's mining call as finished, safe to call from any thread
+     * The worker is rescheduled (or backed off) at the start of the next worker tick
+     */
+    public void completeHarvest(HarvestRequest request) {
+        AfkWorker worker = request.getWorker();
+        if (!worker.finishHarvest()) {
+            return;
+        }
+        
+        if (request.isSuccess()) {
+            worker.resetFailures();
+        } else if (request.isAttempted()) {
+            worker.recordFailure();
+        }
+        worker.setLastHarvestTime(System.currentTimeMillis());
+        completedHarvests.add(worker);
+        
+        if (plugin.getDiagnostics().isTracing()) {
+            plugin.getDiagnostics().trace(worker.getPlayerId(), worker.getWorkerId(),
+                "Harvest completed (success {}, failure streak {})", request.isSuccess(), worker.getConsecutiveFailures());
+        }
+    }
+    
+    /**
+     * Back off or quarantine a worker after a failed harvest
+     */
+    private void handleFailure(AfkWorker worker) {
+        int failures = worker.getConsecutiveFailures();
+        if (failures >= plugin.getConfigManager().getQuarantineAfterFailures()) {
+            quarantineWorker(worker);
+        } else {
+            scheduleBackoff(worker, failures);
+        }
+    }
+    
+    /**
+     * Schedule a failing worker after an exponentially growing, jittered delay
+     */
+    private void scheduleBackoff(AfkWorker worker, int failures) {
+        long intervalTicks = toTicks(worker.getZone().getHarvestInterval());
+        long multiplier = Math.min(1L << Math.min(failures, 30), Math.max(1, plugin.getConfigManager().getBackoffMaxMultiplier()));
+        
+        // Jitter keeps workers that failed together from retrying together
+        double jitter = plugin.getConfigManager().getBackoffJitter();
+        double factor = 1.0 + jitter * (ThreadLocalRandom.current().nextDouble() * 2.0 - 1.0);
+        long delay = Math.max(1L, Math.round(intervalTicks * multiplier * factor));
+        
+        synchronized (harvestWheel) {
+            scheduleHarvestAt(worker, currentTick + delay);
+        }
+        
+        if (plugin.getDiagnostics().isTracing()) {
+            plugin.getDiagnostics().trace(worker.getPlayerId(), worker.getWorkerId(),
+                "Backing off {} ticks after {} failures", delay, failures);
+        }
+    }
+    
+    /**
+     * Take a persistently failing worker off the schedule and tell its player
+     */
+    private void quarantineWorker(AfkWorker worker) {
+        worker.setQuarantined(true);
+        synchronized (harvestWheel) {
+            harvestWheel.cancel(worker.getHarvestEntry());
+        }
+        plugin.getDiagnostics().trace(worker.getPlayerId(), worker.getWorkerId(), "Quarantined", null, null);
+        
+        plugin.getLogger().warning("Quarantined worker " + worker.getWorkerId() + " of " + worker.getPlayerName() +
+            " in zone " + worker.getZone().getId() + " after " + worker.getConsecutiveFailures() + " failed harvests");
+        
+        Player player = Bukkit.getPlayer(worker.getPlayerId());
+        if (player != null && player.isOnline()) {
+            player.sendMessage("§cYour AFK worker in zone §e" + worker.getZone().getId() +
+                " §chas been paused after repeated failures. Rejoin the zone's session (in EdTools or with /afkzone join) or switch OmniTool to resume it.");
+        }
+    }
+    
+    /**
+     * Revalidate the sessions of players with quarantined workers
+     * Quarantined workers do not harvest, so nothing else would notice them rejoining through EdTools
+     */
+    private void watchQuarantinedSessions() {
+        for (AfkWorker worker : registry.getAll()) {
+            if (!worker.isQuarantined()) {
+                continue;
+            }
+            Player player = Bukkit.getPlayer(worker.getPlayerId());
+            if (player != null && player.isOnline()) {
+                plugin.getTaskScheduler().runForEntity(player, () -> plugin.getEdToolsIntegration().getSessionState(player));
+            }
+        }
+    }
+    
+    /**
+     * Resume the player's quarantined workers in a zone whose EdTools session they just joined
+     * Called when a session revalidation sees the player newly in the zone's session
+     */
+    public void onSessionJoined(Player player, String zoneId) {
+        for (AfkWorker worker : registry.getByPlayer(player.getUniqueId())) {
+            if (worker.isQuarantined() && worker.getZone().getId().equals(zoneId)) {
+                releaseQuarantine(worker);
+            }
+        }
+    }
+    
+    /**
+     * Put a quarantined worker back on the schedule with a clean failure count
+     */
+    private void releaseQuarantine(AfkWorker worker) {
+        worker.setQuarantined(false);
+        worker.resetFailures();
+        
+        if (worker.isHarvestable() && !worker.isHarvestInFlight()) {
+            scheduleNextHarvest(worker);
+        }
+        
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("Released worker " + worker.getWorkerId() + " of " + worker.getPlayerName() + " from quarantine");
+        }
+    }
+    
+    /**
+     * Count the workers quarantined after repeated failures
+     */
+    public int getQuarantinedWorkerCount() {
+        int count = 0;
+        for (AfkWorker worker : registry.getAll()) {
+            if (worker.isQuarantined()) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Get the number of due workers waiting for tick budget
+     */
+    public int getPendingWorkerCount() {
+        return pendingWorkers.size();
     }
     
     /**
      * Get all workers
      */
     public Collection<AfkWorker> getAllWorkers() {
-        return workers.values();
+        return registry.getAll();
+    }
+    
+    /**
+     * Get the pool of hidden worker entities
+     */
+    public WorkerEntityPool getEntityPool() {
+        return entityPool;
     }
     
     /**
@@ -270,15 +778,29 @@ public class WorkerManager {
      */
     public void shutdown() {
         // Stop task
-        if (workerTaskId != -1) {
-            Bukkit.getScheduler().cancelTask(workerTaskId);
+        if (workerTask != null) {
+            workerTask.cancel();
+            workerTask = null;
+        }
+        if (entityPoolTask != null) {
+            entityPoolTask.cancel();
+            entityPoolTask = null;
+        }
+        if (sessionWatchTask != null) {
+            sessionWatchTask.cancel();
+            sessionWatchTask = null;
         }
         
         // Remove all workers
-        List<UUID> allWorkerIds = new ArrayList<>(workers.keySet());
-        allWorkerIds.forEach(this::removeWorker);
+        List<AfkWorker> allWorkers = new ArrayList<>(registry.getAll());
+        for (AfkWorker worker : allWorkers) {
+            removeWorker(worker.getWorkerId());
+        }
+        
+        entityPool.clear();
         
-        workers.clear();
-        zoneWorkers.clear();
+        registry.clear();
+        pendingWorkers.clear();
+        completedHarvests.clear();
     }
 }
@@ -0,0 +1,151 @@
+package gz.devian.afkzoneedtools.managers;
+
+import gz.devian.afkzoneedtools.models.AfkWorker;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent worker registry indexed by worker id, player UUID and zone id
+ *
+ * Lookups are lock-free O(1) map reads. Registration and removal update all
+ * indexes under one lock so the indexes never disagree with each other.
+ */
+public class WorkerRegistry {
+
+    private final Map<UUID, AfkWorker> byId = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<String, AfkWorker>> byPlayer = new ConcurrentHashMap<>();
+    private final Map<String, Set<AfkWorker>> byZone = new ConcurrentHashMap<>();
+
+    private final Object writeLock = new Object();
+
+    /**
+     * Register a worker if its zone has room and the player has no worker there yet
+     *
+     * @return true if the worker was registered
+     */
+    public boolean register(AfkWorker worker, int maxWorkersInZone) {
+        String zoneId = worker.getZone().getId();
+
+        synchronized (writeLock) {
+            if (getByPlayerAndZone(worker.getPlayerId(), zoneId) != null) {
+                return false;
+            }
+
+            Set<AfkWorker> zoneSet = byZone.computeIfAbsent(zoneId, k -> ConcurrentHashMap.newKeySet());
+            if (zoneSet.size() >= maxWorkersInZone) {
+                return false;
+            }
+
+            byId.put(worker.getWorkerId(), worker);
+            byPlayer.computeIfAbsent(worker.getPlayerId(), k -> new ConcurrentHashMap<>()).put(zoneId, worker);
+            zoneSet.add(worker);
+            return true;
+        }
+    }
+
+    /**
+     * Remove a worker from every index
+     *
+     * @return the removed worker, or null if it was not registered
+     */
+    public AfkWorker unregister(UUID workerId) {
+        synchronized (writeLock) {
+            AfkWorker worker = byId.remove(workerId);
+            if (worker == null) {
+                return null;
+            }
+
+            String zoneId = worker.getZone().getId();
+
+            Map<String, AfkWorker> playerWorkers = byPlayer.get(worker.getPlayerId());
+            if (playerWorkers != null) {
+                playerWorkers.remove(zoneId, worker);
+                if (playerWorkers.isEmpty()) {
+                    byPlayer.remove(worker.getPlayerId());
+                }
+            }
+
+            Set<AfkWorker> zoneSet = byZone.get(zoneId);
+            if (zoneSet != null) {
+                zoneSet.remove(worker);
+                if (zoneSet.isEmpty()) {
+                    byZone.remove(zoneId);
+                }
+            }
+
+            return worker;
+        }
+    }
+
+    /**
+     * Get a worker by id
+     */
+    public AfkWorker get(UUID workerId) {
+        return byId.get(workerId);
+    }
+
+    /**
+     * Get a player's worker in a zone
+     */
+    public AfkWorker getByPlayerAndZone(UUID playerId, String zoneId) {
+        Map<String, AfkWorker> playerWorkers = byPlayer.get(playerId);
+        return playerWorkers != null ? playerWorkers.get(zoneId) : null;
+    }
+
+    /**
+     * Get any one of a player's workers
+     */
+    public AfkWorker getAnyByPlayer(UUID playerId) {
+        Map<String, AfkWorker> playerWorkers = byPlayer.get(playerId);
+        if (playerWorkers == null) {
+            return null;
+        }
+
+        Iterator<AfkWorker> iterator = playerWorkers.values().iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    /**
+     * Get all of a player's workers (live view)
+     */
+    public Collection<AfkWorker> getByPlayer(UUID playerId) {
+        Map<String, AfkWorker> playerWorkers = byPlayer.get(playerId);
+        return playerWorkers != null ? playerWorkers.values() : Collections.emptyList();
+    }
+
+    /**
+     * Get all workers in a zone (live view)
+     */
+    public Collection<AfkWorker> getByZone(String zoneId) {
+        Set<AfkWorker> zoneSet = byZone.get(zoneId);
+        return zoneSet != null ? zoneSet : Collections.emptySet();
+    }
+
+    /**
+     * Get all workers (live view)
+     */
+    public Collection<AfkWorker> getAll() {
+        return byId.values();
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Remove every worker from every index
+     */
+    public void clear() {
+        synchronized (writeLock) {
+            byId.clear();
+            byPlayer.clear();
+            byZone.clear();
+        }
+    }
+}
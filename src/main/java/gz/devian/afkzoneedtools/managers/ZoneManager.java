@@ -2,6 +2,7 @@ package gz.devian.afkzoneedtools.managers;
 
 import gz.devian.afkzoneedtools.AfkZoneEdtools;
 import gz.devian.afkzoneedtools.models.AfkZone;
+import gz.devian.afkzoneedtools.models.AnimationProfile;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -79,6 +80,7 @@ public class ZoneManager {
             zone.setBlockScale(displaySection.getDouble("scale", 1.0));
             zone.setBlockGlow(displaySection.getBoolean("glow", true));
             zone.setGlowColor(displaySection.getString("glow_color", "YELLOW"));
+            zone.setAnimationProfile(loadAnimationProfile(zone, displaySection.getConfigurationSection("animation")));
         }
         
         // Allowed tools
@@ -127,6 +129,43 @@ public class ZoneManager {
         return zone;
     }
     
+    /**
+     * Build the zone's block animation from its block_display.animation section
+     */
+    private AnimationProfile loadAnimationProfile(AfkZone zone, ConfigurationSection section) {
+        if (section == null) {
+            return new AnimationProfile(zone.getBlockScale());
+        }
+        
+        AnimationProfile.Style style;
+        try {
+            style = AnimationProfile.Style.valueOf(section.getString("style", "SHRINK").toUpperCase());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Invalid animation style for zone " + zone.getId() + ": " + section.getString("style") + ", using SHRINK");
+            style = AnimationProfile.Style.SHRINK;
+        }
+        
+        List<AnimationProfile.Keyframe> keyframes = new ArrayList<>();
+        for (Map<?, ?> keyframe : section.getMapList("keyframes")) {
+            keyframes.add(new AnimationProfile.Keyframe(
+                getNumber(keyframe, "scale", 1.0),
+                getNumber(keyframe, "rotation_y", 0),
+                (int) getNumber(keyframe, "ticks", 5)
+            ));
+        }
+        if (style == AnimationProfile.Style.CUSTOM && keyframes.isEmpty()) {
+            plugin.getLogger().warning("Zone " + zone.getId() + " uses CUSTOM animation without keyframes, using SHRINK");
+        }
+        
+        return new AnimationProfile(zone.getBlockScale(), style,
+            section.getInt("grow_ticks", AnimationProfile.DEFAULT_GROW_TICKS), keyframes);
+    }
+    
+    private static double getNumber(Map<?, ?> map, String key, double defaultValue) {
+        Object value = map.get(key);
+        return value instanceof Number number ? number.doubleValue() : defaultValue;
+    }
+    
     /**
      * Save all zones to configuration
      */
@@ -157,6 +196,25 @@ public class ZoneManager {
         config.set(path + ".block_display.glow", zone.isBlockGlow());
         config.set(path + ".block_display.glow_color", zone.getGlowColor());
         
+        // Only zones with their own animation get the section, a save must not fill zones.yml with defaults
+        AnimationProfile animation = zone.getAnimationProfile();
+        if (!animation.isDefault()) {
+            config.set(path + ".block_display.animation.style", animation.getStyle().name());
+            config.set(path + ".block_display.animation.grow_ticks", animation.getGrowTicks());
+            List<Map<String, Object>> keyframes = null;
+            if (animation.getStyle() == AnimationProfile.Style.CUSTOM) {
+                keyframes = new ArrayList<>();
+                for (AnimationProfile.Keyframe keyframe : animation.getMiningKeyframes()) {
+                    Map<String, Object> values = new LinkedHashMap<>();
+                    values.put("scale", keyframe.getScale());
+                    values.put("rotation_y", keyframe.getRotationY());
+                    values.put("ticks", keyframe.getTicks());
+                    keyframes.add(values);
+                }
+            }
+            config.set(path + ".block_display.animation.keyframes", keyframes);
+        }
+        
         // Tools
         config.set(path + ".allowed_tools", zone.getAllowedTools());
         
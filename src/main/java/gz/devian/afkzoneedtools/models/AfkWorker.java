@@ -1,5 +1,7 @@
 package gz.devian.afkzoneedtools.models;
 
+import gz.devian.afkzoneedtools.scheduling.EntityCommandQueue;
+import gz.devian.afkzoneedtools.scheduling.TimingWheel;
 import org.bukkit.entity.Player;
 
 import java.util.UUID;
@@ -16,11 +18,19 @@ public class AfkWorker {
     private final AfkZone zone;
     
     // Runtime data
-    private transient Object entityInstance; // EdLib entity instance
+    private transient volatile Object entityInstance; // EdLib entity instance
+    private transient EntityCommandQueue.Handle<?> entityHandle; // Queued spawn of the entity instance
     private transient Object interactionEntity; // EdLib interaction entity
     private transient long lastHarvestTime;
-    private transient boolean active;
+    private transient volatile boolean active;
     private transient int harvestCount;
+    private transient TimingWheel.Entry<AfkWorker> harvestEntry; // Slot in the harvest timing wheel
+    private transient long harvestPhase; // Tick offset within the zone's harvest interval (phase spread)
+    private transient volatile boolean harvestInFlight; // A mining call for this worker is queued or running
+    private transient int blockCursor; // Next index into the player's loaded block snapshot
+    private transient volatile boolean suspended; // No valid OmniTool, off the harvest schedule
+    private transient volatile int consecutiveFailures; // Failed harvests since the last success
+    private transient volatile boolean quarantined; // Failed too often, off the harvest schedule
     
     // Session data
     private transient Object edToolsSession; // EdTools session instance
@@ -62,6 +72,14 @@ public class AfkWorker {
         this.entityInstance = entityInstance;
     }
     
+    public EntityCommandQueue.Handle<?> getEntityHandle() {
+        return entityHandle;
+    }
+    
+    public void setEntityHandle(EntityCommandQueue.Handle<?> entityHandle) {
+        this.entityHandle = entityHandle;
+    }
+    
     public Object getInteractionEntity() {
         return interactionEntity;
     }
@@ -94,6 +112,96 @@ public class AfkWorker {
         this.harvestCount++;
     }
     
+    public TimingWheel.Entry<AfkWorker> getHarvestEntry() {
+        return harvestEntry;
+    }
+    
+    public void setHarvestEntry(TimingWheel.Entry<AfkWorker> harvestEntry) {
+        this.harvestEntry = harvestEntry;
+    }
+    
+    public long getHarvestPhase() {
+        return harvestPhase;
+    }
+    
+    public void setHarvestPhase(long harvestPhase) {
+        this.harvestPhase = harvestPhase;
+    }
+    
+    public boolean isSuspended() {
+        return suspended;
+    }
+    
+    public void setSuspended(boolean suspended) {
+        this.suspended = suspended;
+    }
+    
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+    
+    /**
+     * Record a failed harvest and return the new failure streak
+     */
+    public synchronized int recordFailure() {
+        return ++consecutiveFailures;
+    }
+    
+    public void resetFailures() {
+        this.consecutiveFailures = 0;
+    }
+    
+    public boolean isQuarantined() {
+        return quarantined;
+    }
+    
+    public void setQuarantined(boolean quarantined) {
+        this.quarantined = quarantined;
+    }
+    
+    /**
+     * Check if the worker is on the harvest schedule (active, has a tool and is not quarantined)
+     */
+    public boolean isHarvestable() {
+        return active && !suspended && !quarantined;
+    }
+    
+    public boolean isHarvestInFlight() {
+        return harvestInFlight;
+    }
+    
+    /**
+     * Mark a mining call as outstanding, returns false if one already is
+     */
+    public synchronized boolean tryBeginHarvest() {
+        if (harvestInFlight) {
+            return false;
+        }
+        harvestInFlight = true;
+        return true;
+    }
+    
+    /**
+     * Clear the outstanding mining call, returns false if there was none
+     */
+    public synchronized boolean finishHarvest() {
+        if (!harvestInFlight) {
+            return false;
+        }
+        harvestInFlight = false;
+        return true;
+    }
+    
+    /**
+     * Get the next block index to mine and advance the cursor, wrapping around
+     */
+    public int nextBlockIndex(int blockCount) {
+        if (blockCursor >= blockCount) {
+            blockCursor = 0;
+        }
+        return blockCursor++;
+    }
+    
     public Object getEdToolsSession() {
         return edToolsSession;
     }
@@ -6,6 +6,7 @@ import org.bukkit.entity.EntityType;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Represents an AFK Zone that functions exactly like a normal EdTools zone
@@ -26,6 +27,7 @@ public class AfkZone {
     private double blockScale;
     private boolean blockGlow;
     private String glowColor;
+    private AnimationProfile animationProfile;
     
     // Tool Requirements
     private List<String> allowedTools;
@@ -62,12 +64,12 @@ public class AfkZone {
     
     // Runtime data (not saved)
     private transient Object blockDisplayEntity;
-    private transient List<AfkWorker> activeWorkers;
+    private transient List<AfkWorker> activeWorkers; // Changed from player and region threads (Folia)
     
     public AfkZone(String id) {
         this.id = id;
         this.allowedTools = new ArrayList<>();
-        this.activeWorkers = new ArrayList<>();
+        this.activeWorkers = new CopyOnWriteArrayList<>();
         
         // Default EdTools integration (ALL TRUE for full zone behavior)
         this.affectEnchants = true;
@@ -147,6 +149,23 @@ public class AfkZone {
     
     public void setBlockScale(double blockScale) {
         this.blockScale = blockScale;
+        if (animationProfile != null && animationProfile.getBlockScale() != blockScale) {
+            animationProfile = animationProfile.withBlockScale(blockScale);
+        }
+    }
+    
+    /**
+     * Get the precomputed block display transformations (default shrink animation if none was loaded)
+     */
+    public AnimationProfile getAnimationProfile() {
+        if (animationProfile == null) {
+            animationProfile = new AnimationProfile(blockScale);
+        }
+        return animationProfile;
+    }
+    
+    public void setAnimationProfile(AnimationProfile animationProfile) {
+        this.animationProfile = animationProfile;
     }
     
     public boolean isBlockGlow() {
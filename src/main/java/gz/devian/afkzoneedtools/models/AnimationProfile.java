@@ -0,0 +1,194 @@
+package gz.devian.afkzoneedtools.models;
+
+import org.joml.Matrix4f;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Precomputed block display transformations of one zone
+ *
+ * Built when the zone is loaded (and again when its block scale changes), so animations only pass
+ * around these matrices. They are shared: never modify a matrix taken from a profile.
+ * Keyframe scales are relative to the zone's block scale, except the default SHRINK which goes to
+ * a tenth of a block whatever the block scale, like the animation always did.
+ */
+public class AnimationProfile {
+
+    public static final int DEFAULT_GROW_TICKS = 20;
+
+    public enum Style {
+        SHRINK,  // Shrink to a tenth of a block
+        WOBBLE,  // Bulge, squash, then shrink
+        SPIN,    // Quarter turns while shrinking
+        CUSTOM   // Keyframes from zones.yml
+    }
+
+    private final double blockScale;
+    private final Style style;
+    private final int growTicks;
+    private final Matrix4f idle;
+    private final List<Keyframe> miningKeyframes;
+    private final Keyframe grow;
+    private final int miningTicks;
+
+    /**
+     * @param customKeyframes keyframes played while the block is mined (only used by {@link Style#CUSTOM}),
+     *                        copied so the same list can be shared by zones with different block scales
+     */
+    public AnimationProfile(double blockScale, Style style, int growTicks, List<Keyframe> customKeyframes) {
+        this.blockScale = blockScale;
+        this.growTicks = Math.max(1, growTicks);
+        this.idle = transformation(blockScale, 0);
+
+        List<Keyframe> keyframes = new ArrayList<>();
+        switch (style) {
+            case WOBBLE -> {
+                keyframes.add(new Keyframe(1.15, 0, 3));
+                keyframes.add(new Keyframe(0.9, 0, 3));
+                keyframes.add(new Keyframe(1.1, 0, 2));
+                keyframes.add(new Keyframe(0.1, 0, 6));
+            }
+            case SPIN -> {
+                keyframes.add(new Keyframe(0.8, 90, 4));
+                keyframes.add(new Keyframe(0.5, 180, 4));
+                keyframes.add(new Keyframe(0.1, 270, 4));
+            }
+            case CUSTOM -> {
+                for (Keyframe keyframe : customKeyframes) {
+                    keyframes.add(new Keyframe(keyframe.getScale(), keyframe.getRotationY(), keyframe.getTicks()));
+                }
+            }
+            default -> { }
+        }
+        Style resolved = style;
+        if (keyframes.isEmpty()) {
+            resolved = Style.SHRINK;
+            keyframes.add(new Keyframe(0.1, 0, 10, true));
+        }
+        this.style = resolved;
+
+        int ticks = 0;
+        for (Keyframe keyframe : keyframes) {
+            keyframe.build(blockScale);
+            ticks += keyframe.getTicks();
+        }
+        this.miningKeyframes = Collections.unmodifiableList(keyframes);
+        this.miningTicks = ticks;
+
+        this.grow = new Keyframe(1.0, 0, this.growTicks);
+        this.grow.build(blockScale);
+    }
+
+    /**
+     * Default profile: shrink to a tenth, grow back in a second
+     */
+    public AnimationProfile(double blockScale) {
+        this(blockScale, Style.SHRINK, DEFAULT_GROW_TICKS, List.of());
+    }
+
+    /**
+     * Same animation for a different block scale
+     */
+    public AnimationProfile withBlockScale(double blockScale) {
+        return new AnimationProfile(blockScale, style, growTicks, style == Style.CUSTOM ? miningKeyframes : List.of());
+    }
+
+    private static Matrix4f transformation(double scale, double rotationY) {
+        Matrix4f matrix = new Matrix4f().identity();
+        if (rotationY != 0) {
+            matrix.rotateY((float) Math.toRadians(rotationY));
+        }
+        return matrix.scale((float) scale);
+    }
+
+    public double getBlockScale() {
+        return blockScale;
+    }
+
+    public Style getStyle() {
+        return style;
+    }
+
+    public int getGrowTicks() {
+        return growTicks;
+    }
+
+    /**
+     * Check if this is the animation a zone gets without a block_display.animation section
+     */
+    public boolean isDefault() {
+        return style == Style.SHRINK && growTicks == DEFAULT_GROW_TICKS;
+    }
+
+    /**
+     * Resting transformation (full block scale)
+     */
+    public Matrix4f getIdle() {
+        return idle;
+    }
+
+    /**
+     * Keyframes played in order while the block is mined, at least one
+     */
+    public List<Keyframe> getMiningKeyframes() {
+        return miningKeyframes;
+    }
+
+    /**
+     * Total length of the mining keyframes in ticks
+     */
+    public int getMiningTicks() {
+        return miningTicks;
+    }
+
+    /**
+     * Growing back to the resting transformation
+     */
+    public Keyframe getGrow() {
+        return grow;
+    }
+
+    /**
+     * One step of an animation: interpolate to a transformation over some ticks
+     */
+    public static class Keyframe {
+        private final double scale;
+        private final double rotationY;
+        private final int ticks;
+        private final boolean absolute; // Scale ignores the block scale
+        private Matrix4f transformation;
+
+        public Keyframe(double scale, double rotationY, int ticks) {
+            this(scale, rotationY, ticks, false);
+        }
+
+        private Keyframe(double scale, double rotationY, int ticks, boolean absolute) {
+            this.scale = scale;
+            this.rotationY = rotationY;
+            this.ticks = Math.max(1, ticks);
+            this.absolute = absolute;
+        }
+
+        private void build(double blockScale) {
+            transformation = AnimationProfile.transformation(absolute ? scale : scale * blockScale, rotationY);
+        }
+
+        public double getScale() {
+            return scale;
+        }
+
+        public double getRotationY() {
+            return rotationY;
+        }
+
+        public int getTicks() {
+            return ticks;
+        }
+
+        public Matrix4f getTransformation() {
+            return transformation;
+        }
+    }
+}
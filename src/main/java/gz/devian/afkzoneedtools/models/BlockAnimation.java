@@ -0,0 +1,128 @@
+package gz.devian.afkzoneedtools.models;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mining animation of one zone's block display: IDLE -> SHRINKING -> REGENERATING -> IDLE
+ *
+ * SHRINKING plays the zone's mining keyframes in order, REGENERATING grows the block back
+ * (see {@link AnimationProfile}); the keyframes come precomputed, advancing allocates nothing.
+ *
+ * Harvests only raise a flag ({@link #request()}); the animation timer advances every zone once per tick.
+ * Harvests arriving while the block is shrinking merge into the running cycle, harvests arriving while
+ * it regenerates start one more cycle right after it, so a busy zone loops instead of stacking animations.
+ */
+public class BlockAnimation {
+
+    public enum State {
+        IDLE,         // Full size, waiting for a harvest
+        SHRINKING,    // Shrunk (or shrinking) until the zone's regeneration time is over
+        REGENERATING  // Growing back to full size
+    }
+
+    private final AfkZone zone;
+    private final AtomicBoolean requested = new AtomicBoolean();
+
+    // Only touched by the animation timer
+    private State state = State.IDLE;
+    private long stateEndTick;
+    private AnimationProfile profile; // Profile of the running cycle
+    private int keyframe;
+    private long nextKeyframeTick;
+    private boolean followUp;
+    private long cycles;
+    private long merged;
+
+    public BlockAnimation(AfkZone zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * Record a harvest (any thread)
+     */
+    public void request() {
+        requested.set(true);
+    }
+
+    /**
+     * Advance the state machine to the given tick (animation timer only)
+     *
+     * @return the keyframe to send to the display, or null if nothing changes this tick
+     */
+    public AnimationProfile.Keyframe advance(long tick) {
+        long regenerationTicks = zone.getRegenerationTime() / 50; // Convert ms to ticks
+        boolean harvested = requested.getAndSet(false);
+
+        switch (state) {
+            case IDLE:
+                if (harvested) {
+                    return startCycle(tick, regenerationTicks);
+                }
+                break;
+            case SHRINKING:
+                if (harvested) {
+                    merged++;
+                }
+                List<AnimationProfile.Keyframe> keyframes = profile.getMiningKeyframes();
+                if (keyframe + 1 < keyframes.size() && tick >= nextKeyframeTick) {
+                    AnimationProfile.Keyframe next = keyframes.get(++keyframe);
+                    nextKeyframeTick = tick + next.getTicks();
+                    return next;
+                }
+                if (tick >= stateEndTick) {
+                    state = State.REGENERATING;
+                    stateEndTick = tick + profile.getGrowTicks();
+                    return profile.getGrow();
+                }
+                break;
+            case REGENERATING:
+                if (harvested) {
+                    if (followUp) {
+                        merged++;
+                    }
+                    followUp = true;
+                }
+                if (tick >= stateEndTick) {
+                    if (followUp) {
+                        followUp = false;
+                        return startCycle(tick, regenerationTicks);
+                    }
+                    state = State.IDLE;
+                }
+                break;
+        }
+        return null;
+    }
+
+    private AnimationProfile.Keyframe startCycle(long tick, long regenerationTicks) {
+        profile = zone.getAnimationProfile();
+        AnimationProfile.Keyframe first = profile.getMiningKeyframes().get(0);
+        state = State.SHRINKING;
+        keyframe = 0;
+        nextKeyframeTick = tick + first.getTicks();
+        stateEndTick = tick + Math.max(profile.getMiningTicks(), regenerationTicks);
+        cycles++;
+        return first;
+    }
+
+    public AfkZone getZone() {
+        return zone;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isIdle() {
+        return state == State.IDLE && !requested.get();
+    }
+
+    public long getCycles() {
+        return cycles;
+    }
+
+    public long getMerged() {
+        return merged;
+    }
+}
@@ -0,0 +1,51 @@
+package gz.devian.afkzoneedtools.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * All harvests that came due in one zone during one worker tick
+ * Executed as a single mining job so shared zone data is resolved once
+ */
+public class HarvestBatch {
+    
+    private final AfkZone zone;
+    private final List<HarvestRequest> requests = new ArrayList<>();
+    
+    public HarvestBatch(AfkZone zone) {
+        this.zone = zone;
+    }
+    
+    public void add(HarvestRequest request) {
+        requests.add(request);
+    }
+    
+    public AfkZone getZone() {
+        return zone;
+    }
+    
+    public List<HarvestRequest> getRequests() {
+        return requests;
+    }
+    
+    public int size() {
+        return requests.size();
+    }
+    
+    public boolean isEmpty() {
+        return requests.isEmpty();
+    }
+    
+    /**
+     * Count the requests that mined a block
+     */
+    public int getSuccessCount() {
+        int count = 0;
+        for (HarvestRequest request : requests) {
+            if (request.isSuccess()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
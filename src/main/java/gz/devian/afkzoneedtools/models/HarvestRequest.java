@@ -0,0 +1,74 @@
+package gz.devian.afkzoneedtools.models;
+
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Vector;
+
+/**
+ * A single worker harvest prepared on the main thread and executed inside a {@link HarvestBatch}
+ */
+public class HarvestRequest {
+    
+    private final AfkWorker worker;
+    private final Player player;
+    private final String toolId;
+    private final Vector position; // Null means the batch falls back to the zone center
+    
+    // Result data (filled by the mining job)
+    private Material minedMaterial;
+    private String soldItem;
+    private boolean success;
+    private boolean attempted; // mineBlockAsPlayer() was actually called
+    
+    public HarvestRequest(AfkWorker worker, Player player, String toolId, Vector position) {
+        this.worker = worker;
+        this.player = player;
+        this.toolId = toolId;
+        this.position = position;
+    }
+    
+    public AfkWorker getWorker() {
+        return worker;
+    }
+    
+    public Player getPlayer() {
+        return player;
+    }
+    
+    public String getToolId() {
+        return toolId;
+    }
+    
+    public Vector getPosition() {
+        return position;
+    }
+    
+    public Material getMinedMaterial() {
+        return minedMaterial;
+    }
+    
+    public String getSoldItem() {
+        return soldItem;
+    }
+    
+    public boolean isSuccess() {
+        return success;
+    }
+    
+    public boolean isAttempted() {
+        return attempted;
+    }
+    
+    public void markAttempted() {
+        this.attempted = true;
+    }
+    
+    /**
+     * Record the mineBlockAsPlayer() result for this request
+     */
+    public void complete(Material minedMaterial, String soldItem) {
+        this.minedMaterial = minedMaterial;
+        this.soldItem = soldItem;
+        this.success = true;
+    }
+}
@@ -0,0 +1,77 @@
+package gz.devian.afkzoneedtools.models;
+
+import org.bukkit.Material;
+import org.bukkit.util.Vector;
+
+import java.util.Map;
+
+/**
+ * Snapshot of a player's EdTools loaded block positions
+ *
+ * Positions are packed into a long[] (26 bits x, 26 bits z, 12 bits y, the same layout
+ * as Minecraft's BlockPos) so holding one per player costs 8 bytes a block and no boxing.
+ */
+public class LoadedBlockSnapshot {
+
+    public static final LoadedBlockSnapshot EMPTY = new LoadedBlockSnapshot(new long[0], 0L);
+
+    private final long[] positions;
+    private final long createdAt;
+
+    private LoadedBlockSnapshot(long[] positions, long createdAt) {
+        this.positions = positions;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Build a snapshot from the block map returned by EdTools
+     */
+    public static LoadedBlockSnapshot of(Map<Vector, Material> loadedBlocks, long createdAt) {
+        if (loadedBlocks == null || loadedBlocks.isEmpty()) {
+            return new LoadedBlockSnapshot(new long[0], createdAt);
+        }
+
+        long[] positions = new long[loadedBlocks.size()];
+        int i = 0;
+        for (Vector vector : loadedBlocks.keySet()) {
+            positions[i++] = pack(vector.getBlockX(), vector.getBlockY(), vector.getBlockZ());
+        }
+        return new LoadedBlockSnapshot(positions, createdAt);
+    }
+
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    public static int unpackX(long packed) {
+        return (int) (packed >> 38);
+    }
+
+    public static int unpackY(long packed) {
+        return (int) (packed << 52 >> 52);
+    }
+
+    public static int unpackZ(long packed) {
+        return (int) (packed << 26 >> 38);
+    }
+
+    public int size() {
+        return positions.length;
+    }
+
+    public boolean isEmpty() {
+        return positions.length == 0;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Get the block position at an index as a Vector
+     */
+    public Vector getPosition(int index) {
+        long packed = positions[index];
+        return new Vector(unpackX(packed), unpackY(packed), unpackZ(packed));
+    }
+}
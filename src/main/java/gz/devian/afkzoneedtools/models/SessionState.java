@@ -0,0 +1,43 @@
+package gz.devian.afkzoneedtools.models;
+
+/**
+ * Cached view of a player's EdTools zone session
+ * Immutable, a revalidation replaces the whole state
+ */
+public class SessionState {
+
+    private final boolean inSession;
+    private final String zoneId;
+    private final boolean globalSession;
+    private final long validatedAt;
+
+    public SessionState(boolean inSession, String zoneId, boolean globalSession, long validatedAt) {
+        this.inSession = inSession;
+        this.zoneId = zoneId;
+        this.globalSession = globalSession;
+        this.validatedAt = validatedAt;
+    }
+
+    public boolean isInSession() {
+        return inSession;
+    }
+
+    public String getZoneId() {
+        return zoneId;
+    }
+
+    public boolean isGlobalSession() {
+        return globalSession;
+    }
+
+    public long getValidatedAt() {
+        return validatedAt;
+    }
+
+    /**
+     * Check if the state is older than the revalidation interval
+     */
+    public boolean isStale(long now, long revalidateIntervalMillis) {
+        return now - validatedAt >= revalidateIntervalMillis;
+    }
+}
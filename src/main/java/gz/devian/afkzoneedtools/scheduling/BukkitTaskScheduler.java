@@ -0,0 +1,68 @@
+package gz.devian.afkzoneedtools.scheduling;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Single main thread scheduling backend for Paper/Spigot
+ */
+public class BukkitTaskScheduler implements TaskScheduler {
+
+    private final Plugin plugin;
+
+    public BukkitTaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public TaskHandle runGlobalTimer(Runnable task, long delay, long period) {
+        BukkitTask bukkitTask = Bukkit.getScheduler().runTaskTimer(plugin, task, delay, period);
+        return bukkitTask::cancel;
+    }
+
+    @Override
+    public TaskHandle runGlobalLater(Runnable task, long delay) {
+        BukkitTask bukkitTask = Bukkit.getScheduler().runTaskLater(plugin, task, delay);
+        return bukkitTask::cancel;
+    }
+
+    @Override
+    public void runAtLocation(Location location, Runnable task) {
+        Bukkit.getScheduler().runTask(plugin, task);
+    }
+
+    @Override
+    public TaskHandle runAtLocationLater(Location location, Runnable task, long delay) {
+        BukkitTask bukkitTask = Bukkit.getScheduler().runTaskLater(plugin, task, delay);
+        return bukkitTask::cancel;
+    }
+
+    @Override
+    public void runForEntity(Entity entity, Runnable task) {
+        Bukkit.getScheduler().runTask(plugin, task);
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+    }
+
+    @Override
+    public TaskHandle runAsyncTimer(Runnable task, long delay, long period) {
+        BukkitTask bukkitTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, task, delay, period);
+        return bukkitTask::cancel;
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return false;
+    }
+
+    @Override
+    public void cancelAll() {
+        Bukkit.getScheduler().cancelTasks(plugin);
+    }
+}
@@ -0,0 +1,262 @@
+package gz.devian.afkzoneedtools.scheduling;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Circuit breaker for calls into one external API
+ *
+ * Exceptions and calls slower than the latency threshold count as failures. After enough
+ * consecutive failures the breaker opens and calls are rejected (the caller's fallback is used)
+ * until the cool-down ends; then a single probe call is let through (half-open) and its outcome
+ * closes or re-opens the breaker. A call that hangs is detected too: if calls are in flight and
+ * none completed for the stall timeout, the breaker opens without waiting for them. A hung probe
+ * re-opens it the same way.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,    // Calls go through
+        OPEN,      // Calls are rejected until the cool-down ends
+        HALF_OPEN  // One probe call is in flight
+    }
+
+    private final String name;
+    private final Logger logger;
+    private final boolean enabled;
+    private final long slowCallNanos;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final long stallNanos;
+
+    // Guarded by this
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile long lastProgress = System.nanoTime();
+
+    // Metrics
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong slowCalls = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timesOpened = new AtomicLong();
+    private volatile long lastLatencyNanos;
+    private volatile long maxLatencyNanos;
+
+    public CircuitBreaker(String name, Logger logger, boolean enabled, long slowCallMillis,
+                          int failureThreshold, long openSeconds, long stallSeconds) {
+        this.name = name;
+        this.logger = logger;
+        this.enabled = enabled;
+        this.slowCallNanos = slowCallMillis * 1_000_000L;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openSeconds * 1_000_000_000L;
+        this.stallNanos = stallSeconds * 1_000_000_000L;
+    }
+
+    /**
+     * Run a call through the breaker
+     * Exceptions are recorded and rethrown, so callers keep their own error handling
+     *
+     * @return the call's result, or the fallback if the breaker rejected it
+     */
+    public <T> T execute(Supplier<T> call, T fallback) {
+        if (!tryAcquire()) {
+            return fallback;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = call.get();
+            failed = false;
+            return result;
+        } finally {
+            release(System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * Run a call without a result through the breaker
+     *
+     * @return false if the breaker rejected the call
+     */
+    public boolean execute(Runnable call) {
+        return execute(() -> {
+            call.run();
+            return Boolean.TRUE;
+        }, Boolean.FALSE);
+    }
+
+    /**
+     * Check if calls are currently being rejected (without claiming a probe)
+     * True while a probe is in flight too, only the probe itself goes through then
+     */
+    public synchronized boolean isOpen() {
+        if (!enabled) {
+            return false;
+        }
+        long now = System.nanoTime();
+        checkStalled(now);
+        return state == State.HALF_OPEN || (state == State.OPEN && now - openedAt < openNanos);
+    }
+
+    /**
+     * Claim permission for one call, moving to half-open when the cool-down is over
+     */
+    public boolean tryAcquire() {
+        if (!enabled) {
+            calls.incrementAndGet();
+            inFlight.incrementAndGet();
+            return true;
+        }
+
+        synchronized (this) {
+            long now = System.nanoTime();
+            checkStalled(now);
+
+            switch (state) {
+                case OPEN:
+                    if (now - openedAt < openNanos) {
+                        rejected.incrementAndGet();
+                        return false;
+                    }
+                    state = State.HALF_OPEN;
+                    // Stall timeout of the probe starts now, whatever else is still hanging
+                    lastProgress = now;
+                    break;
+                case HALF_OPEN:
+                    rejected.incrementAndGet();
+                    return false;
+                default:
+                    break;
+            }
+
+            if (inFlight.getAndIncrement() == 0) {
+                lastProgress = now;
+            }
+        }
+        calls.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Record the outcome of a call claimed with {@link #tryAcquire()}
+     */
+    public void release(long elapsedNanos, boolean failed) {
+        inFlight.decrementAndGet();
+        lastProgress = System.nanoTime();
+        lastLatencyNanos = elapsedNanos;
+        if (elapsedNanos > maxLatencyNanos) {
+            maxLatencyNanos = elapsedNanos;
+        }
+
+        boolean slow = elapsedNanos > slowCallNanos;
+        if (failed) {
+            failures.incrementAndGet();
+        }
+        if (slow) {
+            slowCalls.incrementAndGet();
+        }
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (this) {
+            if (failed || slow) {
+                consecutiveFailures++;
+                if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                    open(failed ? "call failed" : "call took " + (elapsedNanos / 1_000_000L) + "ms");
+                }
+            } else {
+                consecutiveFailures = 0;
+                if (state == State.HALF_OPEN) {
+                    state = State.CLOSED;
+                    logger.info("EdTools " + name + " API recovered, circuit breaker closed");
+                }
+            }
+        }
+    }
+
+    /**
+     * Force the breaker closed (operator override)
+     */
+    public synchronized void reset() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    // Guarded by this
+    private void checkStalled(long now) {
+        if (state != State.OPEN && inFlight.get() > 0 && now - lastProgress > stallNanos) {
+            open(inFlight.get() + " calls stalled for over " + (stallNanos / 1_000_000_000L) + "s");
+        }
+    }
+
+    // Guarded by this
+    private void open(String reason) {
+        if (state != State.OPEN) {
+            timesOpened.incrementAndGet();
+            logger.warning("EdTools " + name + " API circuit breaker opened (" + reason + "), pausing calls for " +
+                (openNanos / 1_000_000_000L) + "s");
+        }
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        lastProgress = openedAt;
+    }
+
+    // Metrics
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public long getSlowCalls() {
+        return slowCalls.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getTimesOpened() {
+        return timesOpened.get();
+    }
+
+    public double getLastLatencyMillis() {
+        return lastLatencyNanos / 1_000_000.0;
+    }
+
+    public double getMaxLatencyMillis() {
+        return maxLatencyNanos / 1_000_000.0;
+    }
+
+    public double getSlowCallMillis() {
+        return slowCallNanos / 1_000_000.0;
+    }
+}
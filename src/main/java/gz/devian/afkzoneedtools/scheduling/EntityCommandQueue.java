@@ -0,0 +1,365 @@
+package gz.devian.afkzoneedtools.scheduling;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Per-entity command queue for packet entity operations (create, update, remove)
+ *
+ * Commands are collected per entity and handed to one worker thread once per tick ({@link #drain()}).
+ * Updates of the same kind replace each other (only the latest transformation is sent), updates to an
+ * entity being removed are dropped, and removing an entity whose creation has not run yet cancels both.
+ * While the worker is still busy with the previous batch, commands keep collecting and coalescing.
+ * Past the capacity (entities with pending commands), updates queued with {@link #offerUpdate} are dropped
+ * (animation frames, the next one replaces them anyway); creates, removes and state updates never are.
+ */
+public class EntityCommandQueue<T> {
+
+    private final Logger logger;
+    private final int capacity;
+    private final Consumer<T> remover;
+    private final ExecutorService worker;
+    private final AtomicBoolean busy = new AtomicBoolean();
+
+    // Guarded by this
+    private List<Handle<T>> dirty = new ArrayList<>();
+    private List<Handle<T>> draining = new ArrayList<>();
+    private final Map<T, Handle<T>> handles = new IdentityHashMap<>();
+
+    // Metrics, guarded by this
+    private long submitted;
+    private long coalesced;
+    private long dropped;
+    private long cancelled;
+    private long executed;
+    private long busyTicks;
+
+    /**
+     * @param remover removes an entity, run by the worker for {@link #remove}
+     */
+    public EntityCommandQueue(String name, Logger logger, int capacity, Consumer<T> remover) {
+        this.logger = logger;
+        this.capacity = Math.max(1, capacity);
+        this.remover = remover;
+        this.worker = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("AfkZone-" + name).daemon(true).factory());
+    }
+
+    /**
+     * Queue the creation of an entity
+     *
+     * @param factory creates (and spawns) the entity on the worker thread
+     * @param onCreated called on the worker thread once the entity exists (not called if removed before)
+     */
+    public synchronized Handle<T> create(Supplier<T> factory, Consumer<T> onCreated) {
+        Handle<T> handle = new Handle<>();
+        handle.create = factory;
+        handle.onCreated = onCreated;
+        submitted++;
+        enqueue(handle);
+        return handle;
+    }
+
+    /**
+     * Queue an update, replacing a pending update of the same kind on the entity
+     */
+    public synchronized void update(T entity, String kind, Consumer<T> command) {
+        update(handleOf(entity), kind, command, false);
+    }
+
+    /**
+     * Queue an update, replacing a pending update of the same kind on the entity
+     */
+    public synchronized void update(Handle<T> handle, String kind, Consumer<T> command) {
+        update(handle, kind, command, false);
+    }
+
+    /**
+     * Queue an update that may be dropped when the queue is past its capacity
+     * Only for updates a later one of the same kind supersedes, like animation frames
+     */
+    public synchronized void offerUpdate(T entity, String kind, Consumer<T> command) {
+        update(handleOf(entity), kind, command, true);
+    }
+
+    // Guarded by this
+    private void update(Handle<T> handle, String kind, Consumer<T> command, boolean droppable) {
+        submitted++;
+        if (handle.removed || (droppable && !handle.queued && dirty.size() >= capacity)) {
+            dropped++;
+            return;
+        }
+        if (handle.updates == null) {
+            handle.updates = new LinkedHashMap<>();
+        }
+        if (handle.updates.put(kind, command) != null) {
+            coalesced++;
+        }
+        enqueue(handle);
+    }
+
+    /**
+     * Queue the removal of an entity, dropping its pending updates
+     */
+    public synchronized void remove(T entity) {
+        remove(handleOf(entity));
+    }
+
+    /**
+     * Queue the removal of an entity, dropping its pending updates
+     * If its creation has not run yet, both are cancelled and nothing is sent
+     */
+    public synchronized void remove(Handle<?> handle) {
+        @SuppressWarnings("unchecked")
+        Handle<T> target = (Handle<T>) handle;
+        submitted++;
+        if (target.removed) {
+            coalesced++;
+            return;
+        }
+        target.removed = true;
+
+        if (target.updates != null) {
+            coalesced += target.updates.size();
+            target.updates.clear();
+        }
+        if (target.create != null) {
+            target.create = null;
+            target.onCreated = null;
+            cancelled++;
+            return;
+        }
+        target.remove = true;
+        enqueue(target);
+    }
+
+    // Guarded by this
+    private Handle<T> handleOf(T entity) {
+        return handles.computeIfAbsent(entity, e -> {
+            Handle<T> handle = new Handle<>();
+            handle.entity = e;
+            return handle;
+        });
+    }
+
+    // Guarded by this
+    private void enqueue(Handle<T> handle) {
+        if (!handle.queued) {
+            handle.queued = true;
+            dirty.add(handle);
+        }
+    }
+
+    /**
+     * Hand the entities with pending commands to the worker (once per tick)
+     */
+    public void drain() {
+        synchronized (this) {
+            if (dirty.isEmpty()) {
+                return;
+            }
+            if (!busy.compareAndSet(false, true)) {
+                busyTicks++;
+                return;
+            }
+            List<Handle<T>> batch = dirty;
+            dirty = draining;
+            draining = batch;
+        }
+
+        try {
+            worker.execute(this::processBatch);
+        } catch (RejectedExecutionException e) {
+            // Shut down, commands stay queued for shutdown()
+            synchronized (this) {
+                for (Handle<T> handle : draining) {
+                    handle.queued = false;
+                    enqueue(handle);
+                }
+                draining.clear();
+            }
+            busy.set(false);
+        }
+    }
+
+    private void processBatch() {
+        List<Consumer<T>> updates = new ArrayList<>();
+        try {
+            for (Handle<T> handle : draining) {
+                process(handle, updates);
+            }
+        } finally {
+            synchronized (this) {
+                draining.clear();
+            }
+            busy.set(false);
+        }
+    }
+
+    private void process(Handle<T> handle, List<Consumer<T>> updates) {
+        Supplier<T> create;
+        Consumer<T> onCreated;
+        boolean remove;
+        synchronized (this) {
+            create = handle.create;
+            onCreated = handle.onCreated;
+            remove = handle.remove;
+            handle.create = null;
+            handle.onCreated = null;
+            handle.remove = false;
+            handle.queued = false;
+            if (handle.updates != null) {
+                updates.addAll(handle.updates.values());
+                handle.updates.clear();
+            }
+        }
+
+        try {
+            if (create != null) {
+                T entity = create.get();
+                if (entity != null) {
+                    synchronized (this) {
+                        handle.entity = entity;
+                        handles.put(entity, handle);
+                    }
+                    if (onCreated != null) {
+                        onCreated.accept(entity);
+                    }
+                }
+                count(1);
+            }
+
+            T entity = handle.entity;
+            if (entity == null) {
+                synchronized (this) {
+                    dropped += updates.size();
+                }
+                return;
+            }
+            for (Consumer<T> update : updates) {
+                update.accept(entity);
+            }
+            count(updates.size());
+
+            if (remove) {
+                synchronized (this) {
+                    handles.remove(entity);
+                }
+                remover.accept(entity);
+                count(1);
+            }
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error running entity command", e);
+        } finally {
+            updates.clear();
+        }
+    }
+
+    private synchronized void count(int commands) {
+        executed += commands;
+    }
+
+    /**
+     * Run every pending command and stop the worker, waiting up to the timeout
+     */
+    public void shutdown(long timeoutSeconds) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        while (System.nanoTime() < deadline && (busy.get() || getPendingCount() > 0)) {
+            drain();
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        worker.shutdown();
+        try {
+            if (!worker.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                logger.warning("Entity command worker did not finish in time, " + getPendingCount() + " entities left");
+                worker.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            worker.shutdownNow();
+        }
+    }
+
+    // Metrics
+
+    /**
+     * Entities with commands waiting for the next drain
+     */
+    public synchronized int getPendingCount() {
+        return dirty.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public boolean isBusy() {
+        return busy.get();
+    }
+
+    public synchronized long getSubmitted() {
+        return submitted;
+    }
+
+    public synchronized long getCoalesced() {
+        return coalesced;
+    }
+
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    public synchronized long getCancelled() {
+        return cancelled;
+    }
+
+    public synchronized long getExecuted() {
+        return executed;
+    }
+
+    public synchronized long getBusyTicks() {
+        return busyTicks;
+    }
+
+    /**
+     * One entity in the queue, usable before the entity exists
+     */
+    public static final class Handle<T> {
+        private volatile T entity;
+
+        // Guarded by the queue
+        private Supplier<T> create;
+        private Consumer<T> onCreated;
+        private LinkedHashMap<String, Consumer<T>> updates;
+        private boolean remove;
+        private boolean removed;
+        private boolean queued;
+
+        private Handle() {
+        }
+
+        /**
+         * Get the entity, null until its creation ran
+         */
+        public T getEntity() {
+            return entity;
+        }
+    }
+}
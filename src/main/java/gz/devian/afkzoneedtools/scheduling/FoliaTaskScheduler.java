@@ -0,0 +1,94 @@
+package gz.devian.afkzoneedtools.scheduling;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Region-threaded scheduling backend for Folia
+ *
+ * Zone work runs on the region scheduler of the zone's location and player work
+ * on the player's entity scheduler, so independent regions tick in parallel.
+ */
+public class FoliaTaskScheduler implements TaskScheduler {
+
+    private static final long MILLIS_PER_TICK = 50L;
+
+    private final Plugin plugin;
+
+    public FoliaTaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Check if the server is running Folia
+     */
+    public static boolean isFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public TaskHandle runGlobalTimer(Runnable task, long delay, long period) {
+        // Folia requires an initial delay of at least one tick
+        ScheduledTask scheduled = Bukkit.getGlobalRegionScheduler()
+            .runAtFixedRate(plugin, t -> task.run(), Math.max(1L, delay), period);
+        return scheduled::cancel;
+    }
+
+    @Override
+    public TaskHandle runGlobalLater(Runnable task, long delay) {
+        ScheduledTask scheduled = Bukkit.getGlobalRegionScheduler()
+            .runDelayed(plugin, t -> task.run(), Math.max(1L, delay));
+        return scheduled::cancel;
+    }
+
+    @Override
+    public void runAtLocation(Location location, Runnable task) {
+        Bukkit.getRegionScheduler().execute(plugin, location, task);
+    }
+
+    @Override
+    public TaskHandle runAtLocationLater(Location location, Runnable task, long delay) {
+        ScheduledTask scheduled = Bukkit.getRegionScheduler()
+            .runDelayed(plugin, location, t -> task.run(), Math.max(1L, delay));
+        return scheduled::cancel;
+    }
+
+    @Override
+    public void runForEntity(Entity entity, Runnable task) {
+        entity.getScheduler().execute(plugin, task, null, 1L);
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        Bukkit.getAsyncScheduler().runNow(plugin, t -> task.run());
+    }
+
+    @Override
+    public TaskHandle runAsyncTimer(Runnable task, long delay, long period) {
+        ScheduledTask scheduled = Bukkit.getAsyncScheduler().runAtFixedRate(plugin, t -> task.run(),
+            Math.max(1L, delay) * MILLIS_PER_TICK, period * MILLIS_PER_TICK, TimeUnit.MILLISECONDS);
+        return scheduled::cancel;
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return true;
+    }
+
+    @Override
+    public void cancelAll() {
+        // Region and entity tasks are cancelled by Folia when the plugin disables
+        Bukkit.getGlobalRegionScheduler().cancelTasks(plugin);
+        Bukkit.getAsyncScheduler().cancelTasks(plugin);
+    }
+}
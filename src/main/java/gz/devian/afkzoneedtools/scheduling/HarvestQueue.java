@@ -0,0 +1,228 @@
+package gz.devian.afkzoneedtools.scheduling;
+
+import gz.devian.afkzoneedtools.models.HarvestBatch;
+import gz.devian.afkzoneedtools.models.HarvestRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Bounded queue between the worker tick and the mining stage
+ *
+ * The tick offers whole zone batches, a dispatcher thread hands them to the {@link MiningExecutor}.
+ * Capacity is counted in harvests. When EdTools slows down the executor stops handing out permits,
+ * the dispatcher blocks, the queue fills and the overflow policy decides what happens to new harvests.
+ * Under BLOCK the tick reserves a slot per worker before preparing its harvest ({@link #reserve()}),
+ * so offered harvests always fit and nothing is ever rejected.
+ * Every offered harvest reaches the done handler exactly once, whether it was mined, rejected or
+ * discarded on shutdown.
+ * There is no per-worker merging: a worker never has more than one harvest queued or running
+ * (see {@code AfkWorker#isHarvestInFlight}).
+ */
+public class HarvestQueue {
+
+    /**
+     * What to do with harvests that do not fit
+     */
+    public enum OverflowPolicy {
+        DROP,   // Reject harvests that do not fit
+        BLOCK   // Stop scheduling new harvests until there is room again
+    }
+
+    private final Logger logger;
+    private final MiningExecutor executor;
+    private final Consumer<HarvestBatch> batchRunner;
+    private final Consumer<HarvestRequest> doneHandler;
+    private final int capacity;
+    private final OverflowPolicy policy;
+
+    private final BlockingQueue<HarvestBatch> batches = new LinkedBlockingQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    // Metrics
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong blockedTicks = new AtomicLong();
+
+    public HarvestQueue(Logger logger, MiningExecutor executor, Consumer<HarvestBatch> batchRunner,
+                        Consumer<HarvestRequest> doneHandler, int capacity, OverflowPolicy policy) {
+        this.logger = logger;
+        this.executor = executor;
+        this.batchRunner = batchRunner;
+        this.doneHandler = doneHandler;
+        this.capacity = Math.max(1, capacity);
+        this.policy = policy;
+    }
+
+    /**
+     * Start the dispatcher thread
+     */
+    public void start() {
+        running = true;
+        dispatcher = Thread.ofPlatform().name("AfkZone-HarvestDispatcher").daemon(true).start(this::dispatchLoop);
+    }
+
+    /**
+     * Queue a zone batch, keeping only the harvests that fit
+     *
+     * @return the number of harvests accepted
+     */
+    public int offer(HarvestBatch batch) {
+        HarvestBatch admitted = new HarvestBatch(batch.getZone());
+
+        for (HarvestRequest request : batch.getRequests()) {
+            // BLOCK: the slot was reserved when the worker was admitted
+            if (policy == OverflowPolicy.BLOCK) {
+                admitted.add(request);
+                continue;
+            }
+
+            if (depth.incrementAndGet() > capacity) {
+                depth.decrementAndGet();
+                rejected.incrementAndGet();
+                doneHandler.accept(request);
+                continue;
+            }
+
+            admitted.add(request);
+        }
+
+        if (!admitted.isEmpty()) {
+            accepted.addAndGet(admitted.size());
+            batches.add(admitted);
+        }
+        return admitted.size();
+    }
+
+    /**
+     * Reserve a slot for one harvest before it is prepared
+     * Only the BLOCK policy reserves (and ever holds the tick back), other policies always succeed
+     *
+     * @return false if the queue is full and the worker has to wait for a later tick
+     */
+    public boolean reserve() {
+        if (policy != OverflowPolicy.BLOCK) {
+            return true;
+        }
+        if (depth.incrementAndGet() > capacity) {
+            depth.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Give back reserved slots whose worker did not produce a harvest
+     */
+    public void cancelReservations(int count) {
+        if (policy == OverflowPolicy.BLOCK && count > 0) {
+            depth.addAndGet(-count);
+        }
+    }
+
+    /**
+     * Record a worker tick that was held back by a full queue (BLOCK policy)
+     */
+    public void recordBlockedTick() {
+        blockedTicks.incrementAndGet();
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            HarvestBatch batch;
+            try {
+                batch = batches.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            // Blocks while every mining permit is in use
+            boolean submitted = executor.submit(() -> {
+                try {
+                    batchRunner.accept(batch);
+                } finally {
+                    release(batch);
+                }
+            });
+
+            // Harvests leave the queue once they are handed to the executor
+            depth.addAndGet(-batch.size());
+
+            if (!submitted) {
+                release(batch);
+                rejected.addAndGet(batch.size());
+            }
+        }
+    }
+
+    private void release(HarvestBatch batch) {
+        for (HarvestRequest request : batch.getRequests()) {
+            doneHandler.accept(request);
+        }
+    }
+
+    /**
+     * Stop the dispatcher and discard harvests that were never started
+     * Discarded harvests are counted as rejected and still reach the done handler
+     */
+    public void shutdown() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            try {
+                dispatcher.join(1000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<HarvestBatch> remaining = new ArrayList<>();
+        batches.drainTo(remaining);
+        depth.set(0);
+
+        int discarded = 0;
+        for (HarvestBatch batch : remaining) {
+            discarded += batch.size();
+            release(batch);
+        }
+        rejected.addAndGet(discarded);
+        if (discarded > 0) {
+            logger.info("Discarded " + discarded + " queued harvests on shutdown");
+        }
+    }
+
+    // Metrics
+
+    public int getDepth() {
+        return Math.max(0, depth.get());
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    public long getAccepted() {
+        return accepted.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getBlockedTicks() {
+        return blockedTicks.get();
+    }
+}
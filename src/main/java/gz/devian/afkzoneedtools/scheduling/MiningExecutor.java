@@ -0,0 +1,137 @@
+package gz.devian.afkzoneedtools.scheduling;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Plugin-owned executor for blocking EdTools mining calls
+ *
+ * Keeps mineBlockAsPlayer() off the shared Bukkit async pool. Jobs run on virtual threads
+ * (or a fixed platform pool) and a semaphore caps how many of them call EdTools at once.
+ * Submitters wait for a permit, so a slow EdTools backend pushes back on the {@link HarvestQueue}.
+ */
+public class MiningExecutor {
+
+    private final Logger logger;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+
+    // Metrics
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public MiningExecutor(Logger logger, boolean virtualThreads, int maxConcurrent) {
+        this.logger = logger;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.permits = new Semaphore(this.maxConcurrent, true);
+
+        if (virtualThreads) {
+            ThreadFactory factory = Thread.ofVirtual().name("AfkZone-Mining-", 0).factory();
+            this.executor = Executors.newThreadPerTaskExecutor(factory);
+        } else {
+            ThreadFactory factory = Thread.ofPlatform().name("AfkZone-Mining-", 0).daemon(true).factory();
+            this.executor = Executors.newFixedThreadPool(this.maxConcurrent, factory);
+        }
+    }
+
+    /**
+     * Submit a mining job, blocking the caller while every permit is in use
+     * Only the harvest dispatcher submits, so this is where backpressure starts
+     *
+     * @return false if the executor no longer accepts work or the caller was interrupted
+     */
+    public boolean submit(Runnable job) {
+        waiting.incrementAndGet();
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            waiting.decrementAndGet();
+            rejected.incrementAndGet();
+            return false;
+        }
+        waiting.decrementAndGet();
+
+        try {
+            executor.execute(() -> runJob(job));
+            return true;
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            rejected.incrementAndGet();
+            return false;
+        }
+    }
+
+    private void runJob(Runnable job) {
+        inFlight.incrementAndGet();
+        try {
+            job.run();
+            completed.incrementAndGet();
+        } catch (Throwable t) {
+            failed.incrementAndGet();
+            logger.log(Level.SEVERE, "Mining job failed", t);
+        } finally {
+            inFlight.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    /**
+     * Stop accepting jobs and wait for running ones to finish
+     */
+    public void shutdown(long timeoutSeconds) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                logger.warning("Mining executor did not finish in " + timeoutSeconds + "s, interrupting " +
+                    inFlight.get() + " in-flight jobs");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Metrics
+
+    /**
+     * Submitters blocked on a permit right now (the dispatcher, so 0 or 1)
+     * Harvests waiting behind it are counted by the {@link HarvestQueue}
+     */
+    public int getWaitingSubmitters() {
+        return waiting.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,67 @@
+package gz.devian.afkzoneedtools.scheduling;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+
+/**
+ * Scheduling backend used by the whole plugin
+ *
+ * Paper runs everything on one main thread ({@link BukkitTaskScheduler}),
+ * Folia splits the world into regions with their own tick threads ({@link FoliaTaskScheduler}).
+ * Delays and periods are in server ticks.
+ */
+public interface TaskScheduler {
+
+    /**
+     * Run a repeating task on the global tick (main thread on Paper, global region on Folia)
+     */
+    TaskHandle runGlobalTimer(Runnable task, long delay, long period);
+
+    /**
+     * Run a delayed task on the global tick
+     */
+    TaskHandle runGlobalLater(Runnable task, long delay);
+
+    /**
+     * Run a task on the thread that owns the location's region
+     */
+    void runAtLocation(Location location, Runnable task);
+
+    /**
+     * Run a delayed task on the thread that owns the location's region
+     */
+    TaskHandle runAtLocationLater(Location location, Runnable task, long delay);
+
+    /**
+     * Run a task on the thread that owns the entity (skipped if the entity is removed first)
+     */
+    void runForEntity(Entity entity, Runnable task);
+
+    /**
+     * Run a task off the tick threads
+     */
+    void runAsync(Runnable task);
+
+    /**
+     * Run a repeating task off the tick threads
+     */
+    TaskHandle runAsyncTimer(Runnable task, long delay, long period);
+
+    /**
+     * Whether this backend runs regions on separate threads
+     */
+    boolean isRegionThreaded();
+
+    /**
+     * Cancel every task owned by the plugin
+     */
+    void cancelAll();
+
+    /**
+     * Handle to a scheduled task
+     */
+    @FunctionalInterface
+    interface TaskHandle {
+        void cancel();
+    }
+}
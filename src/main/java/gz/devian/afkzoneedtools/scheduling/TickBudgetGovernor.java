@@ -0,0 +1,124 @@
+package gz.devian.afkzoneedtools.scheduling;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Limits how much main-thread time the worker tick may spend
+ *
+ * The budget shrinks when the server's MSPT is above the configured threshold.
+ * Whatever does not fit is deferred by the caller to the next tick.
+ */
+public class TickBudgetGovernor {
+
+    private final DoubleSupplier msptSource;
+    private final boolean enabled;
+    private final long budgetNanos;
+    private final long overloadedBudgetNanos;
+    private final double msptThreshold;
+    private final int minWorkersPerTick;
+
+    // Current tick
+    private long tickStart;
+    private long tickDeadline;
+    private int processedThisTick;
+
+    // Metrics
+    private double lastMspt;
+    private long lastTickNanos;
+    private long maxTickNanos;
+    private int lastDeferred;
+    private long totalDeferred;
+    private long deferredTicks;
+    private long overloadedTicks;
+
+    public TickBudgetGovernor(DoubleSupplier msptSource, boolean enabled, double budgetMillis,
+                              double overloadedBudgetMillis, double msptThreshold, int minWorkersPerTick) {
+        this.msptSource = msptSource;
+        this.enabled = enabled;
+        this.budgetNanos = (long) (budgetMillis * 1_000_000L);
+        this.overloadedBudgetNanos = (long) (overloadedBudgetMillis * 1_000_000L);
+        this.msptThreshold = msptThreshold;
+        this.minWorkersPerTick = Math.max(1, minWorkersPerTick);
+    }
+
+    /**
+     * Start measuring a worker tick
+     */
+    public void beginTick() {
+        tickStart = System.nanoTime();
+        processedThisTick = 0;
+
+        lastMspt = msptSource.getAsDouble();
+        boolean overloaded = lastMspt > msptThreshold;
+        if (overloaded) {
+            overloadedTicks++;
+        }
+        tickDeadline = tickStart + (overloaded ? overloadedBudgetNanos : budgetNanos);
+    }
+
+    /**
+     * Check if another worker may be processed this tick
+     * A minimum number of workers always runs so the backlog keeps moving
+     */
+    public boolean hasBudget() {
+        if (!enabled || processedThisTick < minWorkersPerTick) {
+            return true;
+        }
+        return System.nanoTime() < tickDeadline;
+    }
+
+    public void recordProcessed() {
+        processedThisTick++;
+    }
+
+    /**
+     * Finish the tick, recording how many due workers were deferred
+     */
+    public void endTick(int deferred) {
+        lastTickNanos = System.nanoTime() - tickStart;
+        maxTickNanos = Math.max(maxTickNanos, lastTickNanos);
+        lastDeferred = deferred;
+        if (deferred > 0) {
+            totalDeferred += deferred;
+            deferredTicks++;
+        }
+    }
+
+    // Metrics
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public double getLastMspt() {
+        return lastMspt;
+    }
+
+    public double getLastTickMillis() {
+        return lastTickNanos / 1_000_000.0;
+    }
+
+    public double getMaxTickMillis() {
+        return maxTickNanos / 1_000_000.0;
+    }
+
+    public double getBudgetMillis() {
+        return budgetNanos / 1_000_000.0;
+    }
+
+    public int getLastDeferred() {
+        return lastDeferred;
+    }
+
+    public long getTotalDeferred() {
+        return totalDeferred;
+    }
+
+    public long getDeferredTicks() {
+        return deferredTicks;
+    }
+
+    public long getOverloadedTicks() {
+        return overloadedTicks;
+    }
+}
@@ -0,0 +1,146 @@
+package gz.devian.afkzoneedtools.scheduling;
+
+import java.util.List;
+
+/**
+ * Hashed timing wheel keyed on server ticks
+ *
+ * Entries are stored in intrusive doubly linked buckets so schedule and cancel are O(1),
+ * and advancing the wheel only touches the buckets for the ticks that elapsed.
+ * Not thread-safe: all calls must come from the thread that owns the wheel.
+ */
+public class TimingWheel<T> {
+
+    private final Entry<T>[] buckets;
+    private final int mask;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(int wheelSize, long startTick) {
+        int capacity = Integer.highestOneBit(Math.max(2, wheelSize) - 1) << 1;
+        this.buckets = new Entry[capacity];
+        this.mask = capacity - 1;
+        this.currentTick = startTick;
+
+        for (int i = 0; i < capacity; i++) {
+            Entry<T> sentinel = new Entry<>(null);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            buckets[i] = sentinel;
+        }
+    }
+
+    /**
+     * Schedule a value for the given tick and return its handle
+     */
+    public Entry<T> schedule(T value, long deadlineTick) {
+        Entry<T> entry = new Entry<>(value);
+        link(entry, deadlineTick);
+        return entry;
+    }
+
+    /**
+     * Move an existing entry to a new deadline
+     */
+    public void reschedule(Entry<T> entry, long deadlineTick) {
+        if (entry.isScheduled()) {
+            unlink(entry);
+        }
+        link(entry, deadlineTick);
+    }
+
+    /**
+     * Cancel an entry, returns false if it was not scheduled
+     */
+    public boolean cancel(Entry<T> entry) {
+        if (entry == null || !entry.isScheduled()) {
+            return false;
+        }
+        unlink(entry);
+        return true;
+    }
+
+    /**
+     * Advance the wheel to the given tick, collecting every value that came due
+     * Due entries are unscheduled before they are added to the output list
+     */
+    public void advance(long toTick, List<T> due) {
+        if (toTick <= currentTick) {
+            return;
+        }
+
+        // Past one full rotation every bucket has been visited once
+        long steps = Math.min(toTick - currentTick, buckets.length);
+        for (long step = 1; step <= steps; step++) {
+            Entry<T> sentinel = buckets[(int) ((currentTick + step) & mask)];
+            Entry<T> entry = sentinel.next;
+            while (entry != sentinel) {
+                Entry<T> next = entry.next;
+                if (entry.deadline <= toTick) {
+                    unlink(entry);
+                    due.add(entry.value);
+                }
+                entry = next;
+            }
+        }
+
+        currentTick = toTick;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void link(Entry<T> entry, long deadlineTick) {
+        // Deadlines already in the past fire on the next advance
+        long deadline = Math.max(deadlineTick, currentTick + 1);
+        Entry<T> sentinel = buckets[(int) (deadline & mask)];
+
+        entry.deadline = deadline;
+        entry.prev = sentinel.prev;
+        entry.next = sentinel;
+        sentinel.prev.next = entry;
+        sentinel.prev = entry;
+        size++;
+    }
+
+    private void unlink(Entry<T> entry) {
+        entry.prev.next = entry.next;
+        entry.next.prev = entry.prev;
+        entry.prev = null;
+        entry.next = null;
+        size--;
+    }
+
+    /**
+     * Handle to a scheduled value
+     */
+    public static final class Entry<T> {
+
+        private final T value;
+        private long deadline;
+        private Entry<T> prev;
+        private Entry<T> next;
+
+        private Entry(T value) {
+            this.value = value;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public boolean isScheduled() {
+            return next != null;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package gz.devian.afkzoneedtools.scheduling;
+
+/**
+ * Token bucket rate limit: refills at a fixed rate up to the burst size, one token per call
+ */
+public class TokenBucket {
+
+    private final String name;
+    private final double ratePerSecond;
+    private final double burst;
+
+    // Guarded by this
+    private double tokens;
+    private long lastRefill = System.nanoTime();
+
+    // Metrics, guarded by this
+    private long granted;
+    private long throttled;
+
+    public TokenBucket(String name, double ratePerSecond, double burst) {
+        this.name = name;
+        this.ratePerSecond = Math.max(0.001, ratePerSecond);
+        this.burst = Math.max(1.0, burst);
+        this.tokens = this.burst;
+    }
+
+    /**
+     * Take one token if available
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens < 1.0) {
+            throttled++;
+            return false;
+        }
+        tokens -= 1.0;
+        granted++;
+        return true;
+    }
+
+    /**
+     * Give back a token taken by {@link #tryAcquire()} for a call that did not happen
+     */
+    public synchronized void refund() {
+        tokens = Math.min(burst, tokens + 1.0);
+        granted--;
+    }
+
+    // Guarded by this
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefill) * ratePerSecond / 1_000_000_000.0);
+        lastRefill = now;
+    }
+
+    // Metrics
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized double getTokens() {
+        refill();
+        return tokens;
+    }
+
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public double getBurst() {
+        return burst;
+    }
+
+    public synchronized long getGranted() {
+        return granted;
+    }
+
+    public synchronized long getThrottled() {
+        return throttled;
+    }
+}
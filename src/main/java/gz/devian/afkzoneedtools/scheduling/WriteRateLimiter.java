@@ -0,0 +1,195 @@
+package gz.devian.afkzoneedtools.scheduling;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleConsumer;
+import java.util.logging.Logger;
+
+/**
+ * Rate limit for additive writes into an external API (currency, sell, leveling)
+ *
+ * Each write needs a token from its API's bucket and from the global bucket. Writes over the
+ * limit are not dropped: they wait in a per-API queue, merged with any pending write for the
+ * same key (amounts are summed), and {@link #drain()} sends them in arrival order as tokens refill.
+ * Once an API has pending writes, new ones queue behind them so the limit stays fair.
+ */
+public class WriteRateLimiter {
+
+    private final Logger logger;
+    private final boolean enabled;
+    private final TokenBucket global;
+    private final Map<String, TokenBucket> buckets = new LinkedHashMap<>();
+
+    // Guarded by this
+    private final Map<String, LinkedHashMap<Object, PendingWrite>> pending = new LinkedHashMap<>();
+    private int pendingCount;
+    private int maxPending;
+    private long deferred;
+    private long merged;
+
+    public WriteRateLimiter(Logger logger, boolean enabled, TokenBucket global, List<TokenBucket> apiBuckets) {
+        this.logger = logger;
+        this.enabled = enabled;
+        this.global = global;
+        for (TokenBucket bucket : apiBuckets) {
+            buckets.put(bucket.getName(), bucket);
+            pending.put(bucket.getName(), new LinkedHashMap<>());
+        }
+    }
+
+    /**
+     * Send a write now if the limits allow it, otherwise queue it (merged with the pending write for the key)
+     *
+     * @param api bucket name
+     * @param key identifies writes that can be merged by summing their amounts
+     * @param write performs the write with the (possibly merged) amount
+     */
+    public void submit(String api, Object key, double amount, DoubleConsumer write) {
+        LinkedHashMap<Object, PendingWrite> queue = pending.get(api);
+        if (!enabled || queue == null) {
+            write.accept(amount);
+            return;
+        }
+
+        synchronized (this) {
+            PendingWrite existing = queue.get(key);
+            if (existing != null) {
+                existing.amount += amount;
+                merged++;
+                return;
+            }
+            if (!queue.isEmpty() || !acquire(api)) {
+                queue.put(key, new PendingWrite(amount, write));
+                deferred++;
+                pendingCount++;
+                maxPending = Math.max(maxPending, pendingCount);
+                return;
+            }
+        }
+        run(write, amount);
+    }
+
+    /**
+     * Send queued writes while tokens are available, taking turns between APIs
+     */
+    public void drain() {
+        List<PendingWrite> ready = new ArrayList<>();
+        synchronized (this) {
+            boolean progress = true;
+            while (pendingCount > 0 && progress) {
+                progress = false;
+                for (Map.Entry<String, LinkedHashMap<Object, PendingWrite>> entry : pending.entrySet()) {
+                    LinkedHashMap<Object, PendingWrite> queue = entry.getValue();
+                    if (queue.isEmpty() || !acquire(entry.getKey())) {
+                        continue;
+                    }
+                    ready.add(poll(queue));
+                    progress = true;
+                }
+            }
+        }
+        for (PendingWrite write : ready) {
+            run(write.write, write.amount);
+        }
+    }
+
+    /**
+     * Send every queued write regardless of the limits (plugin shutdown)
+     */
+    public void flush() {
+        List<PendingWrite> ready = new ArrayList<>();
+        synchronized (this) {
+            for (LinkedHashMap<Object, PendingWrite> queue : pending.values()) {
+                while (!queue.isEmpty()) {
+                    ready.add(poll(queue));
+                }
+            }
+        }
+        if (!ready.isEmpty()) {
+            logger.info("Flushing " + ready.size() + " rate limited EdTools writes...");
+        }
+        for (PendingWrite write : ready) {
+            run(write.write, write.amount);
+        }
+    }
+
+    // Guarded by this
+    private boolean acquire(String api) {
+        TokenBucket bucket = buckets.get(api);
+        if (!bucket.tryAcquire()) {
+            return false;
+        }
+        if (!global.tryAcquire()) {
+            bucket.refund();
+            return false;
+        }
+        return true;
+    }
+
+    // Guarded by this
+    private PendingWrite poll(LinkedHashMap<Object, PendingWrite> queue) {
+        Iterator<PendingWrite> iterator = queue.values().iterator();
+        PendingWrite write = iterator.next();
+        iterator.remove();
+        pendingCount--;
+        return write;
+    }
+
+    private void run(DoubleConsumer write, double amount) {
+        try {
+            write.accept(amount);
+        } catch (Exception e) {
+            logger.warning("Rate limited EdTools write failed: " + e.getMessage());
+        }
+    }
+
+    // Metrics
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the global bucket followed by the per-API buckets
+     */
+    public List<TokenBucket> getBuckets() {
+        List<TokenBucket> all = new ArrayList<>(buckets.size() + 1);
+        all.add(global);
+        all.addAll(buckets.values());
+        return all;
+    }
+
+    public synchronized int getPending(String api) {
+        LinkedHashMap<Object, PendingWrite> queue = pending.get(api);
+        return queue != null ? queue.size() : 0;
+    }
+
+    public synchronized int getPendingCount() {
+        return pendingCount;
+    }
+
+    public synchronized int getMaxPending() {
+        return maxPending;
+    }
+
+    public synchronized long getDeferred() {
+        return deferred;
+    }
+
+    public synchronized long getMerged() {
+        return merged;
+    }
+
+    private static class PendingWrite {
+        private double amount; // Guarded by the limiter
+        private final DoubleConsumer write;
+
+        private PendingWrite(double amount, DoubleConsumer write) {
+            this.amount = amount;
+            this.write = write;
+        }
+    }
+}
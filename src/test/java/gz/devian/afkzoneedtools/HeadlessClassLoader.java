@@ -0,0 +1,119 @@
+package gz.devian.afkzoneedtools;
+
+import io.papermc.paper.plugin.configuration.PluginMeta;
+import io.papermc.paper.plugin.provider.classloader.ConfiguredPluginClassLoader;
+import io.papermc.paper.plugin.provider.classloader.PluginClassLoaderGroup;
+import org.bukkit.Server;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.logging.Logger;
+
+/**
+ * Plugin class loader for the headless plugin
+ *
+ * JavaPlugin only initializes plugins whose class comes from a plugin class loader, so this loader
+ * defines one empty subclass of {@link AfkZoneEdtools} itself and initializes it the way Paper does.
+ * Everything else (the plugin, its managers, the fakes) is delegated to the test class path,
+ * so the harness and the plugin share the same classes.
+ */
+final class HeadlessClassLoader extends ClassLoader implements ConfiguredPluginClassLoader {
+
+    private static final String PLUGIN_CLASS = LoadedPlugin.class.getName();
+
+    private final Server server;
+    private final PluginDescriptionFile description;
+    private final File dataFolder;
+    private final File file;
+    private JavaPlugin plugin;
+
+    HeadlessClassLoader(Server server, PluginDescriptionFile description, File dataFolder, File file) {
+        super("AfkZoneEdtools-headless", HeadlessClassLoader.class.getClassLoader());
+        this.server = server;
+        this.description = description;
+        this.dataFolder = dataFolder;
+        this.file = file;
+    }
+
+    /**
+     * Create the plugin, initialized but not enabled
+     */
+    AfkZoneEdtools createPlugin() {
+        try {
+            return (AfkZoneEdtools) loadClass(PLUGIN_CLASS).getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create headless plugin", e);
+        }
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (!name.equals(PLUGIN_CLASS)) {
+            return super.loadClass(name, resolve);
+        }
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> loaded = findLoadedClass(name);
+            if (loaded == null) {
+                loaded = definePluginClass(name);
+            }
+            if (resolve) {
+                resolveClass(loaded);
+            }
+            return loaded;
+        }
+    }
+
+    private Class<?> definePluginClass(String name) throws ClassNotFoundException {
+        try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+            if (in == null) {
+                throw new ClassNotFoundException(name);
+            }
+            byte[] bytes = in.readAllBytes();
+            return defineClass(name, bytes, 0, bytes.length);
+        } catch (IOException e) {
+            throw new ClassNotFoundException(name, e);
+        }
+    }
+
+    @Override
+    public Class<?> loadClass(String name, boolean resolve, boolean checkGlobal, boolean checkLibraries) throws ClassNotFoundException {
+        return loadClass(name, resolve);
+    }
+
+    /**
+     * Called by JavaPlugin's constructor
+     */
+    @Override
+    public void init(JavaPlugin plugin) {
+        this.plugin = plugin;
+        plugin.init(server, description, dataFolder, file, this, description, Logger.getLogger(description.getName()));
+    }
+
+    @Override
+    public PluginMeta getConfiguration() {
+        return description;
+    }
+
+    @Override
+    public JavaPlugin getPlugin() {
+        return plugin;
+    }
+
+    @Override
+    public PluginClassLoaderGroup getGroup() {
+        return null;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * The class this loader defines, public so the loader can instantiate it from another runtime package
+     */
+    public static final class LoadedPlugin extends AfkZoneEdtools {
+    }
+}
@@ -0,0 +1,156 @@
+package gz.devian.afkzoneedtools;
+
+import gz.devian.afkzoneedtools.fakes.FakeEdLib;
+import gz.devian.afkzoneedtools.fakes.FakeEdTools;
+import gz.devian.afkzoneedtools.fakes.FakePlayers;
+import gz.devian.afkzoneedtools.fakes.FakeServer;
+import gz.devian.afkzoneedtools.fakes.ManualTaskScheduler;
+import gz.devian.afkzoneedtools.models.AfkWorker;
+import gz.devian.afkzoneedtools.models.AfkZone;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.PluginDescriptionFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.logging.Level;
+
+/**
+ * The real plugin and managers running without a Minecraft server
+ *
+ * The plugin is created through a {@link HeadlessClassLoader} (JavaPlugin only initializes plugins
+ * loaded by a plugin class loader) and wired by the same {@code initializeManagers} as onEnable, but against {@link FakeEdTools},
+ * {@link FakeEdLib}, {@link FakeServer} and a {@link ManualTaskScheduler}. The config is written to a
+ * temporary data folder and loaded from there. Call {@link #tick()} to advance the server.
+ */
+public class HeadlessPlugin {
+
+    private final FakeServer server;
+    private final ManualTaskScheduler scheduler = new ManualTaskScheduler();
+    private final FakeEdTools edTools = new FakeEdTools();
+    private final FakeEdLib edLib = new FakeEdLib();
+    private final FakePlayers players = new FakePlayers();
+    private final World world;
+    private final AfkZoneEdtools plugin;
+
+    /**
+     * Start the plugin with the given config (missing keys use their defaults)
+     */
+    public HeadlessPlugin(YamlConfiguration config) {
+        this.server = FakeServer.install();
+        server.setPlayers(players);
+        this.world = server.getWorld("world");
+
+        try {
+            plugin = create(server, config);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start headless plugin", e);
+        }
+        plugin.getLogger().setLevel(Level.WARNING);
+
+        if (!plugin.initializeManagers(scheduler, manager -> manager.initialize(edTools.getApi()),
+                manager -> manager.initialize(edLib.getApi()))) {
+            throw new IllegalStateException("Could not start headless plugin, see the log");
+        }
+
+        plugin.getBlockManager().startAnimationTask();
+        plugin.getWorkerManager().startWorkerTask();
+    }
+
+    /**
+     * Create the plugin in a temporary data folder holding the given config and no zones
+     */
+    private static AfkZoneEdtools create(FakeServer server, YamlConfiguration config) throws IOException {
+        File dataFolder = Files.createTempDirectory("afkzone-headless").toFile();
+        dataFolder.deleteOnExit();
+        config.save(new File(dataFolder, "config.yml"));
+        new YamlConfiguration().save(new File(dataFolder, "zones.yml"));
+
+        PluginDescriptionFile description = new PluginDescriptionFile("AfkZoneEdtools", "headless", AfkZoneEdtools.class.getName());
+        return new HeadlessClassLoader(server.getServer(), description, dataFolder, new File(dataFolder, "AfkZoneEdtools.jar"))
+            .createPlugin();
+    }
+
+    /**
+     * Create and register an enabled zone centered on the given block
+     */
+    public AfkZone createZone(String id, int x, int z, long harvestIntervalMillis, int maxWorkers) {
+        AfkZone zone = new AfkZone(id);
+        zone.setDisplayName(id);
+        zone.setType(AfkZone.ZoneType.CUSTOM);
+        zone.setMinCorner(new Location(world, x - 8, 60, z - 8));
+        zone.setMaxCorner(new Location(world, x + 8, 80, z + 8));
+        zone.setCenterLocation(new Location(world, x, 64, z));
+        zone.setBlockMaterial(Material.STONE);
+        zone.setBlockScale(1.0);
+        zone.setHarvestInterval(harvestIntervalMillis);
+        zone.setMaxWorkers(maxWorkers);
+        zone.setWorkerType(EntityType.VILLAGER);
+        zone.setEnabled(true);
+
+        plugin.getZoneManager().addZone(zone);
+        plugin.getBlockManager().createBlockDisplay(zone);
+        return zone;
+    }
+
+    /**
+     * Bring a player online holding an OmniTool and give them a worker in the zone
+     */
+    public AfkWorker join(String name, AfkZone zone) {
+        Player player = players.create(name, zone.getCenterLocation().clone(), "pickaxe");
+        server.join(player);
+        return plugin.getWorkerManager().createWorker(player, zone);
+    }
+
+    /**
+     * Advance the server one tick
+     */
+    public int tick() {
+        return scheduler.tick();
+    }
+
+    /**
+     * Stop the plugin the way onDisable does
+     */
+    public void shutdown() {
+        plugin.getWorkerManager().shutdown();
+        plugin.getEdToolsIntegration().shutdown();
+        plugin.getBlockManager().cleanup();
+        plugin.getEdLibIntegration().shutdown();
+        scheduler.cancelAll();
+        plugin.getDiagnostics().shutdown();
+    }
+
+    public AfkZoneEdtools getPlugin() {
+        return plugin;
+    }
+
+    public ManualTaskScheduler getScheduler() {
+        return scheduler;
+    }
+
+    public FakeServer getServer() {
+        return server;
+    }
+
+    public FakeEdTools getEdTools() {
+        return edTools;
+    }
+
+    public FakeEdLib getEdLib() {
+        return edLib;
+    }
+
+    public FakePlayers getPlayers() {
+        return players;
+    }
+
+    public World getWorld() {
+        return world;
+    }
+}
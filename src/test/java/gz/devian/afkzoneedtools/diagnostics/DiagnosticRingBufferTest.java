@@ -0,0 +1,116 @@
+package gz.devian.afkzoneedtools.diagnostics;
+
+import gz.devian.afkzoneedtools.fakes.ManualTaskScheduler;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DiagnosticRingBufferTest {
+
+    @Test
+    void drainsOldestFirst() {
+        DiagnosticRingBuffer buffer = new DiagnosticRingBuffer(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.publish(event(i));
+        }
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(5, buffer.drain(e -> drained.add(number(e))));
+        assertEquals(List.of(0, 1, 2, 3, 4), drained);
+        assertEquals(0, buffer.getDropped());
+        assertEquals(0, buffer.drain(e -> drained.add(number(e))));
+    }
+
+    @Test
+    void lapBeforeDrainKeepsTheNewestLap() {
+        DiagnosticRingBuffer buffer = new DiagnosticRingBuffer(4);
+        for (int i = 0; i < 10; i++) {
+            buffer.publish(event(i));
+        }
+
+        List<Integer> drained = new ArrayList<>();
+        buffer.drain(e -> drained.add(number(e)));
+        assertEquals(List.of(6, 7, 8, 9), drained);
+        assertEquals(6, buffer.getDropped());
+    }
+
+    @Test
+    void lapDuringDrainIsCountedAndKeepsOrder() {
+        DiagnosticRingBuffer buffer = new DiagnosticRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            buffer.publish(event(i));
+        }
+
+        // Producers lap the consumer while it handles the first event
+        List<Integer> drained = new ArrayList<>();
+        buffer.drain(e -> {
+            drained.add(number(e));
+            if (drained.size() == 1) {
+                for (int i = 4; i < 10; i++) {
+                    buffer.publish(event(i));
+                }
+            }
+        });
+        buffer.drain(e -> drained.add(number(e)));
+
+        assertEquals(List.of(0, 6, 7, 8, 9), drained);
+        assertEquals(5, buffer.getDropped());
+        assertEquals(0, buffer.drain(e -> drained.add(number(e))));
+    }
+
+    @Test
+    void concurrentProducersLoseNothingUncounted() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 20_000;
+        DiagnosticRingBuffer buffer = new DiagnosticRingBuffer(64);
+        ManualTaskScheduler scheduler = new ManualTaskScheduler();
+
+        int[] lastSeen = new int[producers];
+        Arrays.fill(lastSeen, -1);
+        int[] drained = new int[1];
+        boolean[] ordered = {true};
+        scheduler.runGlobalTimer(() -> buffer.drain(e -> {
+            String[] parts = e.formatMessage().split(" ");
+            int producer = Integer.parseInt(parts[0]);
+            int number = Integer.parseInt(parts[1]);
+            if (number <= lastSeen[producer]) {
+                ordered[0] = false;
+            }
+            lastSeen[producer] = number;
+            drained[0]++;
+        }), 1L, 1L);
+
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    buffer.publish(new DiagnosticEvent(DiagnosticCategory.WORKER, DiagnosticLevel.DEBUG, null,
+                        "{} {}", producer, i, null));
+                }
+                done.countDown();
+            });
+        }
+        while (done.getCount() > 0) {
+            scheduler.tick();
+        }
+        scheduler.tick();
+
+        assertTrue(ordered[0], "events of one producer were drained out of order");
+        assertEquals(producers * perProducer, drained[0] + buffer.getDropped());
+    }
+
+    private static DiagnosticEvent event(int number) {
+        return new DiagnosticEvent(DiagnosticCategory.WORKER, DiagnosticLevel.DEBUG, null, "{}", number, null, null);
+    }
+
+    private static int number(DiagnosticEvent event) {
+        return Integer.parseInt(event.formatMessage());
+    }
+}
@@ -0,0 +1,105 @@
+package gz.devian.afkzoneedtools.fakes;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Base of the fake EdTools and EdLib APIs
+ *
+ * Fakes are dynamic proxies so they keep working whatever methods the installed API version has:
+ * a subclass handles the methods the plugin uses and everything else returns a default value.
+ * Every call is counted and goes through the fake's {@link FakeProfile}.
+ */
+public abstract class FakeApi implements InvocationHandler {
+
+    /**
+     * Returned by {@link #handle} for methods the fake does not implement
+     */
+    protected static final Object UNHANDLED = new Object();
+
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    private volatile FakeProfile profile = FakeProfile.INSTANT;
+
+    /**
+     * Handle a call to the fake API
+     *
+     * @return the result, or {@link #UNHANDLED} to return the method's default value
+     */
+    protected abstract Object handle(String method, Object[] args);
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> getClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+            };
+        }
+
+        calls.computeIfAbsent(method.getName(), name -> new LongAdder()).increment();
+        profile.apply(method.getName());
+
+        Object result = handle(method.getName(), args != null ? args : new Object[0]);
+        return result != UNHANDLED ? result : defaultValue(method.getReturnType());
+    }
+
+    /**
+     * Create a proxy of an API interface backed by a fake
+     */
+    public static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == double.class) {
+            return 0.0;
+        }
+        if (type == float.class) {
+            return 0.0f;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        return 0;
+    }
+
+    public void setProfile(FakeProfile profile) {
+        this.profile = profile;
+    }
+
+    public FakeProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Get how many times a method of this fake was called
+     */
+    public long getCalls(String method) {
+        LongAdder adder = calls.get(method);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    public long getTotalCalls() {
+        return calls.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+}
@@ -0,0 +1,87 @@
+package gz.devian.afkzoneedtools.fakes;
+
+import es.edwardbelt.edlib.iapi.EdLibAPI;
+import es.edwardbelt.edlib.iapi.entity.EdEntity;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory EdLib for offline load testing
+ *
+ * Entities are not sent to anyone; the fake only counts what the plugin does with them
+ * (calls per method on {@link #getEntities()}, live entities). Wire it in with
+ * {@code EdLibIntegrationManager.initialize(fakeEdLib.getApi())}.
+ */
+public class FakeEdLib {
+
+    private final Entities entities = new Entities();
+    private final FakeApi library = new FakeApi() {
+        @Override
+        protected Object handle(String method, Object[] args) {
+            return switch (method) {
+                case "createBlockDisplay", "createEntity", "createInteractionEntity" -> entities.create();
+                default -> UNHANDLED;
+            };
+        }
+    };
+    private final EdLibAPI api = FakeApi.proxy(EdLibAPI.class, library);
+
+    public EdLibAPI getApi() {
+        return api;
+    }
+
+    /**
+     * Calls made on EdLibAPI itself (entity creation, action bars)
+     */
+    public FakeApi getLibrary() {
+        return library;
+    }
+
+    /**
+     * Calls made on the created entities, shared by all of them
+     */
+    public Entities getEntities() {
+        return entities;
+    }
+
+    /**
+     * Handler shared by every fake entity, tracking which ones are spawned
+     */
+    public static class Entities extends FakeApi {
+
+        private final Set<Object> spawned = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        private final ThreadLocal<Object> current = new ThreadLocal<>();
+
+        EdEntity create() {
+            return FakeApi.proxy(EdEntity.class, (proxy, method, args) -> {
+                current.set(proxy);
+                try {
+                    return invoke(proxy, method, args);
+                } finally {
+                    current.remove();
+                }
+            });
+        }
+
+        @Override
+        protected Object handle(String method, Object[] args) {
+            switch (method) {
+                case "spawn":
+                case "spawnForPlayer":
+                    spawned.add(current.get());
+                    return null;
+                case "remove":
+                    spawned.remove(current.get());
+                    return null;
+                default:
+                    return UNHANDLED;
+            }
+        }
+
+        public int getSpawnedCount() {
+            return spawned.size();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package gz.devian.afkzoneedtools.fakes;
+
+import es.edwardbelt.edgens.iapi.APIPair;
+import es.edwardbelt.edgens.iapi.EdToolsAPI;
+import es.edwardbelt.edgens.iapi.EdToolsBoostersAPI;
+import es.edwardbelt.edgens.iapi.EdToolsCurrencyAPI;
+import es.edwardbelt.edgens.iapi.EdToolsOmniToolAPI;
+import es.edwardbelt.edgens.iapi.EdToolsZonesAPI;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.Vector;
+
+import java.lang.reflect.Constructor;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory EdTools for offline load testing
+ *
+ * Implements the zones, OmniTool, boosters and currency APIs the plugin uses; the other sub-APIs
+ * are absent (null), which the integration manager already handles. Wire it in with
+ * {@code EdToolsIntegrationManager.initialize(fakeEdTools.getApi())}.
+ */
+public class FakeEdTools {
+
+    private final Zones zones = new Zones();
+    private final OmniTools omniTools = new OmniTools();
+    private final Boosters boosters = new Boosters();
+    private final Currency currency = new Currency();
+    private final EdToolsAPI api;
+
+    public FakeEdTools() {
+        EdToolsZonesAPI zonesApi = FakeApi.proxy(EdToolsZonesAPI.class, zones);
+        EdToolsOmniToolAPI omniToolApi = FakeApi.proxy(EdToolsOmniToolAPI.class, omniTools);
+        EdToolsBoostersAPI boostersApi = FakeApi.proxy(EdToolsBoostersAPI.class, boosters);
+        EdToolsCurrencyAPI currencyApi = FakeApi.proxy(EdToolsCurrencyAPI.class, currency);
+
+        this.api = FakeApi.proxy(EdToolsAPI.class, new FakeApi() {
+            @Override
+            protected Object handle(String method, Object[] args) {
+                return switch (method) {
+                    case "getZonesAPI" -> zonesApi;
+                    case "getOmniToolAPI" -> omniToolApi;
+                    case "getBoostersAPI" -> boostersApi;
+                    case "getCurrencyAPI" -> currencyApi;
+                    default -> UNHANDLED;
+                };
+            }
+        });
+    }
+
+    public EdToolsAPI getApi() {
+        return api;
+    }
+
+    public Zones getZones() {
+        return zones;
+    }
+
+    public OmniTools getOmniTools() {
+        return omniTools;
+    }
+
+    public Boosters getBoosters() {
+        return boosters;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    /**
+     * Create an EdTools APIPair, whatever its constructor looks like in the installed version
+     */
+    @SuppressWarnings("unchecked")
+    static <A, B> APIPair<A, B> pair(A first, B second) {
+        try {
+            for (Constructor<?> constructor : APIPair.class.getDeclaredConstructors()) {
+                if (constructor.getParameterCount() == 2) {
+                    constructor.setAccessible(true);
+                    return (APIPair<A, B>) constructor.newInstance(first, second);
+                }
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create APIPair", e);
+        }
+        throw new IllegalStateException("APIPair has no two-argument constructor");
+    }
+
+    /**
+     * Zone sessions; every session has the same grid of loaded blocks
+     */
+    public static class Zones extends FakeApi {
+
+        private final Map<UUID, String> sessions = new ConcurrentHashMap<>();
+        private final Map<UUID, Material> blockTypes = new ConcurrentHashMap<>();
+        private final LongAdder mined = new LongAdder();
+        private volatile Map<Vector, Material> loadedBlocks = grid(64);
+
+        /**
+         * Set how many blocks each session has loaded
+         */
+        public void setBlocksPerSession(int blocks) {
+            loadedBlocks = grid(blocks);
+        }
+
+        private static Map<Vector, Material> grid(int blocks) {
+            int side = Math.max(1, (int) Math.ceil(Math.sqrt(blocks)));
+            Map<Vector, Material> grid = new LinkedHashMap<>();
+            for (int i = 0; i < blocks; i++) {
+                grid.put(new Vector(i % side, 64, i / side), Material.STONE);
+            }
+            return Collections.unmodifiableMap(grid);
+        }
+
+        @Override
+        protected Object handle(String method, Object[] args) {
+            switch (method) {
+                case "isPlayerInSession":
+                    return sessions.containsKey(((Player) args[0]).getUniqueId());
+                case "getPlayerZoneId":
+                    return sessions.get(((Player) args[0]).getUniqueId());
+                case "getPlayersLoadedBlocks":
+                    return sessions.containsKey(((Player) args[0]).getUniqueId()) ? loadedBlocks : Collections.emptyMap();
+                case "joinGlobalSession":
+                case "joinAloneSession":
+                    sessions.put(((Player) args[0]).getUniqueId(), (String) args[1]);
+                    return null;
+                case "setPlayerBlocksTypeZone":
+                    Material type = Material.matchMaterial((String) args[2]);
+                    blockTypes.put(((Player) args[0]).getUniqueId(), type != null ? type : Material.STONE);
+                    return null;
+                case "leaveSession":
+                    sessions.remove(((Player) args[0]).getUniqueId());
+                    return null;
+                case "mineBlockAsPlayer":
+                    UUID playerId = ((Player) args[0]).getUniqueId();
+                    String zoneId = sessions.get(playerId);
+                    if (zoneId == null) {
+                        return null;
+                    }
+                    mined.increment();
+                    return pair(blockTypes.getOrDefault(playerId, Material.STONE), zoneId);
+                default:
+                    return UNHANDLED;
+            }
+        }
+
+        public int getSessionCount() {
+            return sessions.size();
+        }
+
+        public long getMined() {
+            return mined.sum();
+        }
+    }
+
+    /**
+     * OmniTools are {@link FakePlayers.ToolItem}s; players hold theirs in the main hand
+     */
+    public static class OmniTools extends FakeApi {
+
+        @Override
+        protected Object handle(String method, Object[] args) {
+            switch (method) {
+                case "getOmniToolFromPlayer":
+                    ItemStack held = ((Player) args[0]).getInventory().getItemInMainHand();
+                    return held instanceof FakePlayers.ToolItem ? held : null;
+                case "isItemOmniTool":
+                    return args[0] instanceof FakePlayers.ToolItem;
+                case "getOmniToolId":
+                    return args[0] instanceof FakePlayers.ToolItem tool ? tool.getToolId() : null;
+                default:
+                    return UNHANDLED;
+            }
+        }
+    }
+
+    /**
+     * Per-player booster multipliers, 1.0 unless set
+     */
+    public static class Boosters extends FakeApi {
+
+        private final Map<UUID, Double> multipliers = new ConcurrentHashMap<>();
+
+        public void setMultiplier(UUID playerId, double multiplier) {
+            multipliers.put(playerId, multiplier);
+        }
+
+        @Override
+        protected Object handle(String method, Object[] args) {
+            return switch (method) {
+                case "getBoosterValueByEconomy", "getBoosterValueGlobalEnchants" ->
+                    multipliers.getOrDefault((UUID) args[0], 1.0);
+                default -> UNHANDLED;
+            };
+        }
+    }
+
+    /**
+     * Per-player currency balances
+     */
+    public static class Currency extends FakeApi {
+
+        private final Map<UUID, Map<String, DoubleAdder>> balances = new ConcurrentHashMap<>();
+
+        private DoubleAdder balance(UUID playerId, String currency) {
+            return balances.computeIfAbsent(playerId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(currency, c -> new DoubleAdder());
+        }
+
+        @Override
+        protected Object handle(String method, Object[] args) {
+            switch (method) {
+                case "addCurrency":
+                    balance((UUID) args[0], (String) args[1]).add((Double) args[2]);
+                    return null;
+                case "getCurrency":
+                    return balance((UUID) args[0], (String) args[1]).sum();
+                default:
+                    return UNHANDLED;
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package gz.devian.afkzoneedtools.fakes;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Offline players for load testing, enough for the worker and EdTools code paths
+ *
+ * Each player holds at most one OmniTool ({@link ToolItem}) in the main hand. Methods the fake
+ * does not know return default values (messages, sounds and particles are dropped).
+ */
+public class FakePlayers {
+
+    private final Map<UUID, State> players = new ConcurrentHashMap<>();
+
+    /**
+     * Create an online player at a location, holding an OmniTool unless toolId is null
+     */
+    public Player create(String name, Location location, String toolId) {
+        State state = new State(UUID.nameUUIDFromBytes(("FakePlayer:" + name).getBytes()), name, location);
+        state.tool = toolId != null ? new ToolItem(toolId) : null;
+        state.inventory = FakeApi.proxy(PlayerInventory.class, state::invokeInventory);
+        state.player = FakeApi.proxy(Player.class, state);
+        players.put(state.uuid, state);
+        return state.player;
+    }
+
+    public Player get(UUID playerId) {
+        State state = players.get(playerId);
+        return state != null ? state.player : null;
+    }
+
+    /**
+     * Give a player a different OmniTool, or take it away with null
+     */
+    public void setTool(UUID playerId, String toolId) {
+        players.get(playerId).tool = toolId != null ? new ToolItem(toolId) : null;
+    }
+
+    public void setOnline(UUID playerId, boolean online) {
+        players.get(playerId).online = online;
+    }
+
+    public int size() {
+        return players.size();
+    }
+
+    /**
+     * An OmniTool item, recognized by the fake OmniTool API
+     */
+    public static class ToolItem extends ItemStack {
+
+        private final String toolId;
+
+        public ToolItem(String toolId) {
+            this.toolId = toolId;
+        }
+
+        public String getToolId() {
+            return toolId;
+        }
+    }
+
+    private static class State implements InvocationHandler {
+
+        private final UUID uuid;
+        private final String name;
+        private final Location location;
+        private volatile boolean online = true;
+        private volatile ToolItem tool;
+        private PlayerInventory inventory;
+        private Player player;
+
+        State(UUID uuid, String name, Location location) {
+            this.uuid = uuid;
+            this.name = name;
+            this.location = location;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            return switch (method.getName()) {
+                case "getUniqueId" -> uuid;
+                case "getName", "getDisplayName" -> name;
+                case "isOnline", "isValid" -> online;
+                case "getLocation" -> location.clone();
+                case "getWorld" -> location.getWorld();
+                case "getInventory" -> inventory;
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> uuid.hashCode();
+                case "toString" -> "FakePlayer{" + name + "}";
+                default -> FakeApi.defaultValue(method.getReturnType());
+            };
+        }
+
+        Object invokeInventory(Object proxy, Method method, Object[] args) {
+            ToolItem held = tool;
+            return switch (method.getName()) {
+                case "getItemInMainHand" -> held;
+                case "getContents", "getStorageContents" -> held != null ? new ItemStack[]{held} : new ItemStack[0];
+                case "getHolder" -> player;
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> "FakeInventory{" + name + "}";
+                default -> FakeApi.defaultValue(method.getReturnType());
+            };
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package gz.devian.afkzoneedtools.fakes;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Cost of one call into a fake API: latency, failure rate and allocation
+ */
+public final class FakeProfile {
+
+    public static final FakeProfile INSTANT = new FakeProfile(0L, 0L, 0.0, 0);
+
+    // Keeps simulated allocations from being optimized away
+    private static volatile Object sink;
+
+    private final long latencyNanos;
+    private final long jitterNanos;
+    private final double failureRate;
+    private final int allocationBytes;
+
+    /**
+     * @param latencyMicros   time every call takes
+     * @param jitterMicros    random extra time, up to this much
+     * @param failureRate     fraction of calls (0..1) that throw
+     * @param allocationBytes garbage allocated per call
+     */
+    public FakeProfile(long latencyMicros, long jitterMicros, double failureRate, int allocationBytes) {
+        this.latencyNanos = latencyMicros * 1000L;
+        this.jitterNanos = jitterMicros * 1000L;
+        this.failureRate = failureRate;
+        this.allocationBytes = allocationBytes;
+    }
+
+    /**
+     * Apply this profile to a call, throwing if the call is picked to fail
+     */
+    void apply(String method) {
+        if (allocationBytes > 0) {
+            sink = new byte[allocationBytes];
+        }
+
+        long delay = latencyNanos;
+        if (jitterNanos > 0) {
+            delay += ThreadLocalRandom.current().nextLong(jitterNanos + 1);
+        }
+        if (delay > 0) {
+            LockSupport.parkNanos(delay);
+        }
+
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new IllegalStateException("Simulated failure in " + method);
+        }
+    }
+
+    public long getLatencyMicros() {
+        return latencyNanos / 1000L;
+    }
+
+    public long getJitterMicros() {
+        return jitterNanos / 1000L;
+    }
+
+    public double getFailureRate() {
+        return failureRate;
+    }
+
+    public int getAllocationBytes() {
+        return allocationBytes;
+    }
+}
@@ -0,0 +1,144 @@
+package gz.devian.afkzoneedtools.fakes;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Minimal Bukkit server for headless runs: players, worlds and the tick time, nothing else
+ *
+ * Bukkit only accepts one server per JVM, so this is a singleton; point it at the players
+ * of the current run with {@link #setPlayers(FakePlayers)}.
+ */
+public final class FakeServer implements InvocationHandler {
+
+    private static FakeServer instance;
+
+    private final Logger logger = Logger.getLogger("FakeServer");
+    private final Map<String, World> worlds = new ConcurrentHashMap<>();
+    private final Map<UUID, Player> online = new ConcurrentHashMap<>();
+    private final Server server;
+    private volatile FakePlayers players = new FakePlayers();
+    private volatile double averageTickTime;
+
+    private FakeServer() {
+        this.server = FakeApi.proxy(Server.class, this);
+    }
+
+    /**
+     * Install the fake server into Bukkit (once per JVM)
+     */
+    public static synchronized FakeServer install() {
+        if (instance == null) {
+            instance = new FakeServer();
+            Bukkit.setServer(instance.server);
+        }
+        return instance;
+    }
+
+    public Server getServer() {
+        return server;
+    }
+
+    public Logger getLogger() {
+        return logger;
+    }
+
+    /**
+     * Get a world by name, creating it on first use
+     */
+    public World getWorld(String name) {
+        return worlds.computeIfAbsent(name, FakeServer::createWorld);
+    }
+
+    private static World createWorld(String name) {
+        UUID uid = UUID.nameUUIDFromBytes(("FakeWorld:" + name).getBytes());
+        return FakeApi.proxy(World.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getName" -> name;
+            case "getUID" -> uid;
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> uid.hashCode();
+            case "toString" -> "FakeWorld{" + name + "}";
+            default -> FakeApi.defaultValue(method.getReturnType());
+        });
+    }
+
+    /**
+     * Use these players for lookups, all of them online
+     */
+    public void setPlayers(FakePlayers players) {
+        this.players = players;
+        online.clear();
+    }
+
+    /**
+     * Register a player created by the current {@link FakePlayers} as online
+     */
+    public void join(Player player) {
+        online.put(player.getUniqueId(), player);
+    }
+
+    public void quit(UUID playerId) {
+        online.remove(playerId);
+        if (players.get(playerId) != null) {
+            players.setOnline(playerId, false);
+        }
+    }
+
+    /**
+     * Set the average tick time the server reports (MSPT), read by the tick budget governor
+     */
+    public void setAverageTickTime(double averageTickTime) {
+        this.averageTickTime = averageTickTime;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "getLogger" -> logger;
+            case "getName" -> "FakeServer";
+            case "getVersion", "getBukkitVersion", "getMinecraftVersion" -> "headless";
+            case "getPlayer" -> args[0] instanceof UUID id ? online.get(id) : findByName((String) args[0]);
+            case "getPlayerExact" -> findByName((String) args[0]);
+            case "getOnlinePlayers" -> Collections.unmodifiableCollection(online.values());
+            case "getWorld" -> args[0] instanceof String name ? worlds.get(name) : findWorld((UUID) args[0]);
+            case "getWorlds" -> new ArrayList<>(worlds.values());
+            case "getAverageTickTime" -> averageTickTime;
+            case "isPrimaryThread" -> true;
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> "FakeServer";
+            default -> FakeApi.defaultValue(method.getReturnType());
+        };
+    }
+
+    private Player findByName(String name) {
+        Collection<Player> players = online.values();
+        for (Player player : players) {
+            if (player.getName().equalsIgnoreCase(name)) {
+                return player;
+            }
+        }
+        return null;
+    }
+
+    private World findWorld(UUID uid) {
+        for (World world : worlds.values()) {
+            if (world.getUID().equals(uid)) {
+                return world;
+            }
+        }
+        return null;
+    }
+}
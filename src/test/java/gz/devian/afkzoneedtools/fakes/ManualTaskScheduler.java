@@ -0,0 +1,146 @@
+package gz.devian.afkzoneedtools.fakes;
+
+import gz.devian.afkzoneedtools.scheduling.TaskScheduler;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Task scheduler driven by an explicit tick clock, for headless runs
+ *
+ * Every task (global, region, entity and async alike) runs on the thread calling {@link #tick()},
+ * at the earliest one tick after it was scheduled, like Bukkit's runTask. Tasks due on the same
+ * tick run in scheduling order.
+ */
+public class ManualTaskScheduler implements TaskScheduler {
+
+    private final PriorityQueue<Task> tasks = new PriorityQueue<>();
+    private final List<Task> due = new ArrayList<>();
+    private long currentTick;
+    private long sequence;
+
+    /**
+     * Advance the clock one tick and run everything that is due
+     *
+     * @return the number of tasks run
+     */
+    public int tick() {
+        synchronized (this) {
+            currentTick++;
+            while (!tasks.isEmpty() && tasks.peek().runAt <= currentTick) {
+                due.add(tasks.poll());
+            }
+        }
+
+        int run = 0;
+        for (Task task : due) {
+            if (task.cancelled) {
+                continue;
+            }
+            task.runnable.run();
+            run++;
+            if (task.period > 0 && !task.cancelled) {
+                schedule(task, task.period);
+            }
+        }
+        due.clear();
+        return run;
+    }
+
+    /**
+     * Run a number of ticks
+     */
+    public void runTicks(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            tick();
+        }
+    }
+
+    private synchronized TaskHandle schedule(Runnable runnable, long delay, long period) {
+        Task task = new Task(runnable, period);
+        schedule(task, delay);
+        return () -> task.cancelled = true;
+    }
+
+    private synchronized void schedule(Task task, long delay) {
+        task.runAt = currentTick + Math.max(1L, delay);
+        task.sequence = sequence++;
+        tasks.add(task);
+    }
+
+    @Override
+    public TaskHandle runGlobalTimer(Runnable task, long delay, long period) {
+        return schedule(task, delay, Math.max(1L, period));
+    }
+
+    @Override
+    public TaskHandle runGlobalLater(Runnable task, long delay) {
+        return schedule(task, delay, 0L);
+    }
+
+    @Override
+    public void runAtLocation(Location location, Runnable task) {
+        schedule(task, 0L, 0L);
+    }
+
+    @Override
+    public TaskHandle runAtLocationLater(Location location, Runnable task, long delay) {
+        return schedule(task, delay, 0L);
+    }
+
+    @Override
+    public void runForEntity(Entity entity, Runnable task) {
+        schedule(task, 0L, 0L);
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        schedule(task, 0L, 0L);
+    }
+
+    @Override
+    public TaskHandle runAsyncTimer(Runnable task, long delay, long period) {
+        return schedule(task, delay, Math.max(1L, period));
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return false;
+    }
+
+    @Override
+    public synchronized void cancelAll() {
+        tasks.clear();
+    }
+
+    public synchronized long getCurrentTick() {
+        return currentTick;
+    }
+
+    public synchronized int getPendingTasks() {
+        return tasks.size();
+    }
+
+    private static class Task implements Comparable<Task> {
+
+        private final Runnable runnable;
+        private final long period;
+        private long runAt;
+        private long sequence;
+        private volatile boolean cancelled;
+
+        Task(Runnable runnable, long period) {
+            this.runnable = runnable;
+            this.period = period;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int byTick = Long.compare(runAt, other.runAt);
+            return byTick != 0 ? byTick : Long.compare(sequence, other.sequence);
+        }
+    }
+}
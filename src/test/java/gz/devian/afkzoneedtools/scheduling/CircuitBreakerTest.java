@@ -0,0 +1,178 @@
+package gz.devian.afkzoneedtools.scheduling;
+
+import gz.devian.afkzoneedtools.fakes.ManualTaskScheduler;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final Logger LOGGER = Logger.getLogger("CircuitBreakerTest");
+
+    static {
+        LOGGER.setLevel(Level.OFF);
+    }
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        CircuitBreaker breaker = breaker(3, 60, 60);
+
+        fail(breaker);
+        fail(breaker);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        fail(breaker);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertTrue(breaker.isOpen());
+        assertEquals(1, breaker.getTimesOpened());
+
+        assertNull(breaker.execute(() -> "called", null));
+        assertEquals(1, breaker.getRejected());
+    }
+
+    @Test
+    void successResetsTheFailureStreak() {
+        CircuitBreaker breaker = breaker(3, 60, 60);
+
+        fail(breaker);
+        fail(breaker);
+        assertEquals("ok", breaker.execute(() -> "ok", null));
+        fail(breaker);
+        fail(breaker);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(4, breaker.getFailures());
+    }
+
+    @Test
+    void slowCallCountsAsFailure() {
+        CircuitBreaker breaker = breaker(1, 60, 60);
+
+        assertTrue(breaker.tryAcquire());
+        breaker.release(50_000_000L, false); // 50ms, slow above 10ms
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(1, breaker.getSlowCalls());
+        assertEquals(0, breaker.getFailures());
+    }
+
+    @Test
+    void halfOpenLetsOneProbeThroughAndClosesOnSuccess() {
+        CircuitBreaker breaker = breaker(1, 0, 60);
+        fail(breaker);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        // Cool-down of 0s is over right away, the next call is the probe
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.isOpen(), "callers other than the probe must see the breaker open");
+        assertFalse(breaker.tryAcquire());
+
+        breaker.release(0L, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertFalse(breaker.isOpen());
+    }
+
+    @Test
+    void failedProbeReopens() {
+        CircuitBreaker breaker = breaker(3, 0, 60);
+        fail(breaker);
+        fail(breaker);
+        fail(breaker);
+
+        assertTrue(breaker.tryAcquire());
+        breaker.release(0L, true);
+
+        // A single failure is enough while half-open
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(2, breaker.getTimesOpened());
+    }
+
+    @Test
+    void hungCallOpensWithoutCompleting() {
+        CircuitBreaker breaker = breaker(3, 60, 0);
+
+        assertTrue(breaker.tryAcquire());
+        waitForClock();
+
+        assertTrue(breaker.isOpen());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(1, breaker.getInFlight());
+    }
+
+    @Test
+    void hungProbePausesTicksUntilItTimesOut() {
+        CircuitBreaker breaker = breaker(1, 0, 0);
+        ManualTaskScheduler scheduler = new ManualTaskScheduler();
+        int[] pausedTicks = new int[1];
+        scheduler.runGlobalTimer(() -> {
+            if (breaker.isOpen()) {
+                pausedTicks[0]++;
+            }
+        }, 1L, 1L);
+
+        fail(breaker);
+        assertTrue(breaker.tryAcquire()); // Probe that never returns
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        // The worker tick sees the probe as paused, then its stall timeout re-opens the breaker
+        waitForClock();
+        scheduler.tick();
+        assertEquals(1, pausedTicks[0]);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(2, breaker.getTimesOpened());
+    }
+
+    @Test
+    void resetClosesAnOpenBreaker() {
+        CircuitBreaker breaker = breaker(1, 60, 60);
+        fail(breaker);
+
+        breaker.reset();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals("ok", breaker.execute(() -> "ok", null));
+    }
+
+    @Test
+    void disabledBreakerNeverRejects() {
+        CircuitBreaker breaker = new CircuitBreaker("test", LOGGER, false, 10, 1, 60, 60);
+
+        fail(breaker);
+        fail(breaker);
+
+        assertFalse(breaker.isOpen());
+        assertEquals("ok", breaker.execute(() -> "ok", null));
+        assertEquals(2, breaker.getFailures());
+        assertEquals(0, breaker.getRejected());
+    }
+
+    private static CircuitBreaker breaker(int failureThreshold, long openSeconds, long stallSeconds) {
+        return new CircuitBreaker("test", LOGGER, true, 10, failureThreshold, openSeconds, stallSeconds);
+    }
+
+    private static void fail(CircuitBreaker breaker) {
+        try {
+            breaker.execute(() -> {
+                throw new IllegalStateException("EdTools failed");
+            }, null);
+        } catch (IllegalStateException expected) {
+            // Recorded by the breaker and rethrown
+        }
+    }
+
+    /**
+     * Let System.nanoTime move past the last recorded progress, so a 0s stall timeout is exceeded
+     */
+    private static void waitForClock() {
+        long start = System.nanoTime();
+        while (System.nanoTime() == start) {
+            Thread.onSpinWait();
+        }
+    }
+}
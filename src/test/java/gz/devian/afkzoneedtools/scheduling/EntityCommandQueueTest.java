@@ -0,0 +1,191 @@
+package gz.devian.afkzoneedtools.scheduling;
+
+import gz.devian.afkzoneedtools.fakes.ManualTaskScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The queue drained once per tick by a timer, like the display managers do
+ */
+class EntityCommandQueueTest {
+
+    private ManualTaskScheduler scheduler;
+    private EntityCommandQueue<FakeEntity> queue;
+    private List<FakeEntity> removed;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ManualTaskScheduler();
+        removed = Collections.synchronizedList(new ArrayList<>());
+        queue = new EntityCommandQueue<>("test", Logger.getLogger("EntityCommandQueueTest"), 2, removed::add);
+        scheduler.runGlobalTimer(queue::drain, 1L, 1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        queue.shutdown(1);
+    }
+
+    @Test
+    void handleUpdatesQueuedBeforeCreationApplyAfterIt() {
+        EntityCommandQueue.Handle<FakeEntity> handle = queue.create(FakeEntity::new, e -> e.apply("created"));
+        queue.update(handle, "move", e -> e.apply("move"));
+        assertNull(handle.getEntity());
+
+        tick();
+        FakeEntity entity = handle.getEntity();
+        assertEquals(List.of("created", "move"), entity.applied);
+        assertEquals(2, queue.getExecuted());
+    }
+
+    @Test
+    void removeBeforeCreationRunsCancelsBoth() {
+        int[] factoryCalls = new int[1];
+        EntityCommandQueue.Handle<FakeEntity> handle = queue.create(() -> {
+            factoryCalls[0]++;
+            return new FakeEntity();
+        }, null);
+        queue.update(handle, "move", e -> e.apply("move"));
+        queue.remove(handle);
+
+        tick();
+        assertEquals(0, factoryCalls[0]);
+        assertNull(handle.getEntity());
+        assertTrue(removed.isEmpty());
+        assertEquals(1, queue.getCancelled());
+        assertEquals(0, queue.getExecuted());
+    }
+
+    @Test
+    void updatesOfTheSameKindCoalesce() {
+        FakeEntity entity = spawn();
+
+        queue.update(entity, "move", e -> e.apply("move 1"));
+        queue.update(entity, "glow", e -> e.apply("glow"));
+        queue.update(entity, "move", e -> e.apply("move 2"));
+
+        tick();
+        assertEquals(List.of("move 2", "glow"), entity.applied);
+        assertEquals(1, queue.getCoalesced());
+    }
+
+    @Test
+    void removeDropsPendingAndLaterUpdates() {
+        FakeEntity entity = spawn();
+
+        queue.update(entity, "move", e -> e.apply("move"));
+        queue.remove(entity);
+        queue.update(entity, "glow", e -> e.apply("glow"));
+
+        tick();
+        assertTrue(entity.applied.isEmpty());
+        assertEquals(List.of(entity), removed);
+        assertEquals(1, queue.getDropped());
+    }
+
+    @Test
+    void offeredUpdatesAreDroppedPastCapacity() {
+        FakeEntity first = spawn();
+        FakeEntity second = spawn();
+        FakeEntity third = spawn();
+
+        queue.offerUpdate(first, "frame", e -> e.apply("frame"));
+        queue.offerUpdate(second, "frame", e -> e.apply("frame"));
+        // Two entities pending, at capacity
+        queue.offerUpdate(third, "frame", e -> e.apply("frame"));
+        // Already pending entities and non-droppable updates still get in
+        queue.offerUpdate(first, "frame", e -> e.apply("frame 2"));
+        queue.update(third, "state", e -> e.apply("state"));
+
+        tick();
+        assertEquals(List.of("frame 2"), first.applied);
+        assertEquals(List.of("frame"), second.applied);
+        assertEquals(List.of("state"), third.applied);
+        assertEquals(1, queue.getDropped());
+    }
+
+    @Test
+    void commandsKeepCoalescingWhileTheWorkerIsBusy() throws InterruptedException {
+        FakeEntity entity = spawn();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        queue.update(entity, "slow", e -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        scheduler.tick();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        queue.update(entity, "move", e -> e.apply("move 1"));
+        queue.update(entity, "move", e -> e.apply("move 2"));
+        scheduler.tick();
+        assertEquals(1, queue.getBusyTicks());
+        assertEquals(1, queue.getPendingCount());
+
+        release.countDown();
+        awaitIdle();
+        tick();
+        assertEquals(List.of("move 2"), entity.applied);
+    }
+
+    @Test
+    void shutdownRunsPendingCommands() {
+        FakeEntity entity = spawn();
+        queue.update(entity, "move", e -> e.apply("move"));
+        queue.remove(entity);
+
+        queue.shutdown(5);
+        assertEquals(List.of(entity), removed);
+        assertEquals(0, queue.getPendingCount());
+    }
+
+    private FakeEntity spawn() {
+        EntityCommandQueue.Handle<FakeEntity> handle = queue.create(FakeEntity::new, null);
+        tick();
+        return handle.getEntity();
+    }
+
+    /**
+     * Run one tick and wait for the worker to finish the batch it was handed
+     */
+    private void tick() {
+        scheduler.tick();
+        awaitIdle();
+    }
+
+    private void awaitIdle() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queue.isBusy()) {
+            assertTrue(System.nanoTime() < deadline, "worker did not finish its batch");
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class FakeEntity {
+        private final List<String> applied = Collections.synchronizedList(new ArrayList<>());
+
+        private void apply(String command) {
+            applied.add(command);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package gz.devian.afkzoneedtools.scheduling;
+
+import gz.devian.afkzoneedtools.fakes.ManualTaskScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The wheel advanced once per tick by a timer, like the worker task does
+ */
+class TimingWheelTest {
+
+    private ManualTaskScheduler scheduler;
+    private TimingWheel<String> wheel;
+    private List<String> fired;
+    private List<Long> firedAt;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ManualTaskScheduler();
+        wheel = new TimingWheel<>(8, 0L);
+        fired = new ArrayList<>();
+        firedAt = new ArrayList<>();
+
+        List<String> due = new ArrayList<>();
+        scheduler.runGlobalTimer(() -> {
+            wheel.advance(scheduler.getCurrentTick(), due);
+            for (String value : due) {
+                fired.add(value);
+                firedAt.add(scheduler.getCurrentTick());
+            }
+            due.clear();
+        }, 1L, 1L);
+    }
+
+    @Test
+    void firesOnItsDeadline() {
+        wheel.schedule("a", 3);
+        wheel.schedule("b", 5);
+
+        scheduler.runTicks(2);
+        assertTrue(fired.isEmpty());
+
+        scheduler.runTicks(3);
+        assertEquals(List.of("a", "b"), fired);
+        assertEquals(List.of(3L, 5L), firedAt);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void deadlineSeveralRotationsAheadWaitsForItsLap() {
+        // Same bucket as tick 3 on an 8 slot wheel
+        wheel.schedule("far", 27);
+
+        scheduler.runTicks(26);
+        assertTrue(fired.isEmpty());
+
+        scheduler.tick();
+        assertEquals(List.of("far"), fired);
+        assertEquals(List.of(27L), firedAt);
+    }
+
+    @Test
+    void advancingMoreThanOneRotationFiresEverythingDue() {
+        wheel.schedule("a", 2);
+        wheel.schedule("b", 11);
+        wheel.schedule("c", 30);
+
+        List<String> due = new ArrayList<>();
+        wheel.advance(20, due);
+
+        assertEquals(List.of("a", "b"), due);
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void pastDeadlineFiresOnTheNextTick() {
+        scheduler.runTicks(4);
+        wheel.schedule("late", 1);
+
+        scheduler.tick();
+        assertEquals(List.of("late"), fired);
+        assertEquals(List.of(5L), firedAt);
+    }
+
+    @Test
+    void cancelledEntryNeverFires() {
+        TimingWheel.Entry<String> entry = wheel.schedule("a", 2);
+
+        assertTrue(wheel.cancel(entry));
+        assertFalse(entry.isScheduled());
+        assertFalse(wheel.cancel(entry));
+
+        scheduler.runTicks(10);
+        assertTrue(fired.isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void rescheduleMovesTheEntry() {
+        TimingWheel.Entry<String> entry = wheel.schedule("a", 2);
+        wheel.reschedule(entry, 6);
+
+        scheduler.runTicks(5);
+        assertTrue(fired.isEmpty());
+
+        scheduler.tick();
+        assertEquals(List.of("a"), fired);
+        assertEquals(6, entry.getDeadline());
+
+        // A fired entry can be scheduled again through the same handle
+        wheel.reschedule(entry, 9);
+        scheduler.runTicks(3);
+        assertEquals(List.of("a", "a"), fired);
+        assertEquals(List.of(6L, 9L), firedAt);
+    }
+}
@@ -0,0 +1,224 @@
+package gz.devian.afkzoneedtools.simulation;
+
+import gz.devian.afkzoneedtools.HeadlessPlugin;
+import gz.devian.afkzoneedtools.fakes.FakeProfile;
+import gz.devian.afkzoneedtools.managers.RewardManager;
+import gz.devian.afkzoneedtools.models.AfkWorker;
+import gz.devian.afkzoneedtools.models.AfkZone;
+import gz.devian.afkzoneedtools.scheduling.EntityCommandQueue;
+import gz.devian.afkzoneedtools.scheduling.HarvestQueue;
+import gz.devian.afkzoneedtools.scheduling.MiningExecutor;
+import gz.devian.afkzoneedtools.scheduling.TickBudgetGovernor;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Headless server-load simulation: N players with a worker each, spread over M zones
+ *
+ * Runs the real WorkerManager, BlockManager, EffectManager and RewardManager against the in-memory
+ * EdTools/EdLib on a simulated tick clock, then reports per-tick cost percentiles, allocation per
+ * harvest and queue depths. Ticks are paced at 50ms by default so the mining threads see real time;
+ * use --tick-millis=0 to run them back to back. RewardManager is not called by the worker pipeline,
+ * so (unless --rewards=false) the simulator calls processHarvestReward for every mined block,
+ * on the tick thread, as a server wiring rewards in would.
+ *
+ * Usage: LoadSimulator [--players=1000] [--zones=10] [--ticks=1200] [--warmup=200] [--tick-millis=50]
+ *   [--harvest-interval=5000] [--update-interval=10] [--base-mspt=20] [--rewards=true]
+ *   [--mine-latency-us=200] [--mine-jitter-us=300] [--failure-rate=0] [--alloc-bytes=512]
+ */
+public class LoadSimulator {
+
+    private final Map<String, String> options;
+    private final HeadlessPlugin harness;
+    private final AfkWorker[] workers;
+    private final Player[] players;
+    private final int[] lastHarvests;
+    private final boolean rewards;
+
+    private final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public LoadSimulator(Map<String, String> options) {
+        this.options = options;
+        this.rewards = Boolean.parseBoolean(option("rewards", "true"));
+
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("performance.worker_update_interval", intOption("update-interval", 10));
+        harness = new HeadlessPlugin(config);
+        harness.getEdTools().getZones().setProfile(new FakeProfile(
+            intOption("mine-latency-us", 200),
+            intOption("mine-jitter-us", 300),
+            Double.parseDouble(option("failure-rate", "0")),
+            intOption("alloc-bytes", 512)
+        ));
+
+        int zoneCount = intOption("zones", 10);
+        int playerCount = intOption("players", 1000);
+        int perZone = (playerCount + zoneCount - 1) / zoneCount;
+        AfkZone[] zones = new AfkZone[zoneCount];
+        for (int i = 0; i < zoneCount; i++) {
+            zones[i] = harness.createZone("zone" + i, (i % 32) * 64, (i / 32) * 64,
+                intOption("harvest-interval", 5000), perZone);
+        }
+
+        workers = new AfkWorker[playerCount];
+        players = new Player[playerCount];
+        lastHarvests = new int[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            workers[i] = harness.join("player" + i, zones[i % zoneCount]);
+            players[i] = Bukkit.getPlayer(workers[i].getPlayerId());
+        }
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                System.err.println("Ignoring argument " + arg + " (expected --name=value)");
+                continue;
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        LoadSimulator simulator = new LoadSimulator(options);
+        try {
+            simulator.run();
+        } finally {
+            simulator.harness.shutdown();
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Run the warm-up and measured ticks and print the report
+     */
+    public void run() {
+        int warmup = intOption("warmup", 200);
+        int ticks = intOption("ticks", 1200);
+        long tickNanos = intOption("tick-millis", 50) * 1_000_000L;
+        double baseMspt = Double.parseDouble(option("base-mspt", "20"));
+
+        System.out.println("Simulating " + workers.length + " players in " + harness.getPlugin().getZoneManager().getAllZones().size() +
+            " zones: " + warmup + " warm-up ticks, " + ticks + " measured ticks");
+
+        long[] tickCost = new long[ticks];
+        long maxHarvestQueue = 0;
+        long maxPending = 0;
+        long maxInFlight = 0;
+        long saturatedTicks = 0;
+        long sumHarvestQueue = 0;
+        long sumPending = 0;
+        double msptAverage = baseMspt;
+
+        long startMined = 0;
+        long startAllocated = 0;
+        long startTickAllocated = 0;
+        long next = System.nanoTime();
+        MiningExecutor executor = harness.getPlugin().getEdToolsIntegration().getMiningExecutor();
+        HarvestQueue queue = harness.getPlugin().getEdToolsIntegration().getHarvestQueue();
+
+        for (int tick = -warmup; tick < ticks; tick++) {
+            if (tick == 0) {
+                startMined = harness.getEdTools().getZones().getMined();
+                startAllocated = threads.getTotalThreadAllocatedBytes();
+                startTickAllocated = threads.getCurrentThreadAllocatedBytes();
+            }
+
+            long start = System.nanoTime();
+            harness.tick();
+            if (rewards) {
+                processRewards();
+            }
+            long cost = System.nanoTime() - start;
+
+            // The tick budget governor reads MSPT, report the plugin's cost on top of the rest of the server
+            msptAverage = msptAverage * 0.95 + (baseMspt + cost / 1_000_000.0) * 0.05;
+            harness.getServer().setAverageTickTime(msptAverage);
+
+            if (tick >= 0) {
+                tickCost[tick] = cost;
+                int depth = queue.getDepth();
+                int pending = harness.getPlugin().getWorkerManager().getPendingWorkerCount();
+                sumHarvestQueue += depth;
+                sumPending += pending;
+                maxHarvestQueue = Math.max(maxHarvestQueue, depth);
+                maxPending = Math.max(maxPending, pending);
+                maxInFlight = Math.max(maxInFlight, executor.getInFlight());
+                if (executor.getWaitingSubmitters() > 0) {
+                    saturatedTicks++;
+                }
+            }
+
+            if (tickNanos > 0) {
+                next += tickNanos;
+                LockSupport.parkNanos(next - System.nanoTime());
+            }
+        }
+
+        long mined = harness.getEdTools().getZones().getMined() - startMined;
+        long allocated = threads.getTotalThreadAllocatedBytes() - startAllocated;
+        long tickAllocated = threads.getCurrentThreadAllocatedBytes() - startTickAllocated;
+
+        long[] sorted = tickCost.clone();
+        Arrays.sort(sorted);
+        TickBudgetGovernor governor = harness.getPlugin().getWorkerManager().getGovernor();
+
+        System.out.println("=== Tick cost (ms) ===");
+        System.out.printf("p50 %.3f  p90 %.3f  p99 %.3f  p99.9 %.3f  max %.3f  mean %.3f%n",
+            percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+            percentile(sorted, 0.999), sorted[sorted.length - 1] / 1_000_000.0,
+            Arrays.stream(sorted).average().orElse(0) / 1_000_000.0);
+        System.out.println("=== Harvests ===");
+        System.out.printf("%d mined (%.1f per tick), %d executor failures, %d suspended, %d quarantined%n",
+            mined, mined / (double) ticks, executor.getFailed(),
+            harness.getPlugin().getWorkerManager().getSuspendedWorkerCount(),
+            harness.getPlugin().getWorkerManager().getQuarantinedWorkerCount());
+        if (mined > 0) {
+            System.out.printf("Allocation per harvest: %d bytes total, %d bytes on the tick thread%n",
+                allocated / mined, tickAllocated / mined);
+        }
+        System.out.println("=== Queues ===");
+        System.out.printf("Harvest queue: max %d, mean %.1f (capacity %d, %d rejected)%n",
+            maxHarvestQueue, sumHarvestQueue / (double) ticks, queue.getCapacity(), queue.getRejected());
+        System.out.printf("Deferred workers: max %d, mean %.1f (%d deferred ticks)%n",
+            maxPending, sumPending / (double) ticks, governor.getDeferredTicks());
+        System.out.printf("Mining executor: max %d in flight, saturated for %d ticks%n", maxInFlight, saturatedTicks);
+        EntityCommandQueue<?> entityQueue = harness.getPlugin().getEdLibIntegration().getEntityQueue();
+        System.out.printf("Entity commands: %d executed, %d coalesced, %d dropped, %d cancelled (%d busy ticks)%n",
+            entityQueue.getExecuted(), entityQueue.getCoalesced(), entityQueue.getDropped(), entityQueue.getCancelled(), entityQueue.getBusyTicks());
+    }
+
+    /**
+     * Grant harvest rewards for every block mined since the last tick
+     */
+    private void processRewards() {
+        RewardManager rewardManager = harness.getPlugin().getRewardManager();
+        for (int i = 0; i < workers.length; i++) {
+            int harvests = workers[i].getHarvestCount();
+            for (int n = lastHarvests[i]; n < harvests; n++) {
+                rewardManager.processHarvestReward(players[i], workers[i].getZone());
+            }
+            lastHarvests[i] = harvests;
+        }
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(option(name, String.valueOf(defaultValue)));
+    }
+}